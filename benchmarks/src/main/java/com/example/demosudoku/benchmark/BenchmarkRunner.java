@@ -0,0 +1,35 @@
+package com.example.demosudoku.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ * Accepts the usual JMH command line (for example a benchmark regex) and always
+ * attaches the GC profiler so allocation rates are reported next to throughput.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args JMH command line options
+     * @throws RunnerException if a benchmark fails
+     * @throws CommandLineOptionException if the options cannot be parsed
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demosudoku.benchmark;
+
+import com.example.demosudoku.model.engine.SuggestionEngine;
+import com.example.demosudoku.model.game.Game;
+import javafx.scene.layout.GridPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a hint request through {@link SuggestionEngine#getSafeSuggestion()}.
+ * The game is never started, so no JavaFX controls are created.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    /**
+     * Game whose board provides the suggestions.
+     */
+    private Game game;
+
+    /**
+     * Creates a game over a detached GridPane.
+     */
+    @Setup
+    public void setUp() {
+        game = new Game(new GridPane());
+    }
+
+    /**
+     * Requests a hint, including obtaining the engine as the controller does.
+     *
+     * @return the suggestion
+     */
+    @Benchmark
+    public int[] getSafeSuggestion() {
+        return game.getSuggestionEngine().getSafeSuggestion();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demosudoku.model.board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the puzzle generation phases of {@link Board}.
+ * Lives in the board package so it can call the package-private phases directly.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardGenerationBenchmark {
+
+    /**
+     * Board geometry under test.
+     */
+    @Param({"SIX", "NINE"})
+    public String geometry;
+
+    /**
+     * Board reused by the phase benchmarks.
+     */
+    private Board board;
+
+    /**
+     * Builds a board with a generated puzzle.
+     */
+    @Setup
+    public void setUp() {
+        board = new Board(BoardGeometry.valueOf(geometry));
+    }
+
+    /**
+     * Full construction: solution, removal and locking.
+     *
+     * @return the new board
+     */
+    @Benchmark
+    public Board construction() {
+        return new Board(BoardGeometry.valueOf(geometry));
+    }
+
+    /**
+     * Clearing and filling a complete solution grid.
+     *
+     * @return the board, to keep the work observable
+     */
+    @Benchmark
+    public Board fillSolution() {
+        board.generateCompleteSolution();
+        return board;
+    }
+
+    /**
+     * Uniqueness-checked removal, starting each time from the full solution.
+     *
+     * @return the board, to keep the work observable
+     */
+    @Benchmark
+    public Board removeNumbersSafely() {
+        board.copySolutionToBoard();
+        board.removeNumbersSafely();
+        return board;
+    }
+
+    /**
+     * A single uniqueness check on a generated puzzle.
+     *
+     * @return whether the puzzle is unique
+     */
+    @Benchmark
+    public boolean hasUniqueSolution() {
+        return board.hasUniqueSolution();
+    }
+
+    /**
+     * The targeted check run by each removal step: empties the first given,
+     * searches for a solution with another digit there and puts it back.
+     *
+     * @return whether the puzzle stays unique without that given
+     */
+    @Benchmark
+    public boolean isUniqueWithout() {
+        BoardCore core = board.getCore();
+        int size = core.getGeometry().getSize();
+        int cell = 0;
+        while (core.get(cell / size, cell % size) == 0) cell++;
+
+        int row = cell / size;
+        int col = cell % size;
+        int value = core.get(row, col);
+        core.set(row, col, 0);
+        boolean unique = board.isUniqueWithout(row, col, value);
+        core.set(row, col, value);
+        return unique;
+    }
+}
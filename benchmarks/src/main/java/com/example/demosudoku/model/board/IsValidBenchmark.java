@@ -0,0 +1,88 @@
+package com.example.demosudoku.model.board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link Board#isValid(int, int, int)} on 6x6 boards at different fill levels.
+ * Each invocation tests every digit on every cell, so scores are per single call.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsValidBenchmark {
+
+    /**
+     * Number of isValid calls made by one invocation (36 cells x 6 digits).
+     */
+    private static final int CALLS = 36 * 6;
+
+    /**
+     * How full the board is: EMPTY, HALF or FULL.
+     */
+    @Param({"EMPTY", "HALF", "FULL"})
+    public String fill;
+
+    /**
+     * Board under test.
+     */
+    private Board board;
+
+    /**
+     * Prepares the board at the requested fill level.
+     */
+    @Setup
+    public void setUp() {
+        board = new Board();
+        switch (fill) {
+            case "EMPTY":
+                board.cleanBoard();
+                break;
+            case "HALF":
+                board.copySolutionToBoard();
+                for (int cell = 0; cell < 36; cell += 2) {
+                    board.getCore().set(cell / 6, cell % 6, 0);
+                }
+                break;
+            default:
+                board.copySolutionToBoard();
+                break;
+        }
+    }
+
+    /**
+     * Tests every digit on every cell.
+     *
+     * @param blackhole sink for the results
+     */
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void isValid(Blackhole blackhole) {
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                for (int n = 1; n <= 6; n++) {
+                    blackhole.consume(board.isValid(row, col, n));
+                }
+            }
+        }
+    }
+}
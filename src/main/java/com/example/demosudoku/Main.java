@@ -1,10 +1,16 @@
 package com.example.demosudoku;
 
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.puzzle.PuzzlePool;
+import com.example.demosudoku.model.save.GameJournal;
+import com.example.demosudoku.server.MetricsEndpoint;
 import com.example.demosudoku.view.SudokuWelcomeStage;
+import com.sun.net.httpserver.HttpServer;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * The main class for the Sudoku application.
@@ -12,6 +18,21 @@ import java.io.IOException;
  */
 public class Main extends Application {
 
+    /**
+     * System property with the local port of the optional metrics endpoint.
+     */
+    public static final String METRICS_PORT_PROPERTY = "demosudoku.metrics.port";
+
+    /**
+     * System property with the path of a 6x6 binary bank to play instead of generated puzzles.
+     */
+    public static final String BANK_PROPERTY = "demosudoku.bank";
+
+    /**
+     * The running metrics endpoint, or null.
+     */
+    private HttpServer metricsServer;
+
     /**
      * The main entry point for the Java application.
      * This method launches the JavaFX runtime.
@@ -27,7 +48,11 @@ public class Main extends Application {
      * The start method is called after the init method has returned,
      * and after the system is ready for the application to begin running.
      * <p>
-     * This implementation initializes and displays the welcome screen of the Sudoku game.
+     * This implementation starts filling the puzzle pool in the background, so the
+     * first game starts instantly, and displays the welcome screen of the Sudoku game.
+     * When the {@value #METRICS_PORT_PROPERTY} system property is set, the model
+     * metrics are also served on that local port, and when {@value #BANK_PROPERTY}
+     * names a binary bank, new games are read from it instead of generated.
      *
      * @param primaryStage the primary stage for this application, onto which
      * the application scene can be set. It is provided by the platform.
@@ -35,6 +60,35 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws IOException {
+        Integer metricsPort = Integer.getInteger(METRICS_PORT_PROPERTY);
+        if (metricsPort != null) {
+            try {
+                metricsServer = MetricsEndpoint.start(metricsPort);
+            } catch (IOException e) {
+                System.err.println("No se pudo iniciar el endpoint de métricas: " + e.getMessage());
+            }
+        }
+        String bank = System.getProperty(BANK_PROPERTY);
+        if (bank != null) {
+            try {
+                PuzzlePool.loadBank(Paths.get(bank));
+            } catch (IOException e) {
+                System.err.println("No se pudo abrir el banco de puzzles: " + e.getMessage());
+            }
+        }
+        PuzzlePool.getInstance(BoardGeometry.SIX).start();
         SudokuWelcomeStage.getInstance();
     }
+
+    /**
+     * Waits for the saved games to reach the disk, so no move is lost on exit, and
+     * stops the metrics endpoint, if running, so its thread does not keep the JVM alive.
+     */
+    @Override
+    public void stop() {
+        GameJournal.closeAll();
+        if (metricsServer != null) {
+            metricsServer.stop(0);
+        }
+    }
 }
@@ -0,0 +1,605 @@
+package com.example.demosudoku;
+
+import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.GenerationResult;
+import com.example.demosudoku.model.board.PuzzleGenerator;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleBankReader;
+import com.example.demosudoku.model.puzzle.PuzzleBankWriter;
+import com.example.demosudoku.model.puzzle.PuzzleCanonicalizer;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import com.example.demosudoku.model.puzzle.PuzzleTransformer;
+import com.example.demosudoku.model.solver.Difficulty;
+import com.example.demosudoku.model.solver.LogicalSolver;
+import com.example.demosudoku.server.MetricsEndpoint;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless entry point that generates puzzle banks without starting JavaFX.
+ * Worker threads (one per core by default) each own a {@link Board} and push
+ * puzzles into a bounded queue; a single writer streams them to a file or
+ * stdout, either in {@link PuzzleTextFormat} (one puzzle per line) or as a
+ * binary bank readable by {@link com.example.demosudoku.model.puzzle.PuzzleBankReader}.
+ * Only the queue is held in memory, so the batch size is not limited by the
+ * heap. Throughput statistics are printed to stderr periodically.
+ * <p>
+ * With {@code --dedup} (6x6 only) every puzzle is reduced to its canonical hash
+ * by {@link PuzzleCanonicalizer} and isomorphs of an already accepted puzzle are
+ * dropped on the fly; the set of seen hashes is the only state that grows with
+ * the batch. It is an open-addressing table of primitive longs kept at most half
+ * full, so it costs 16 to 32 bytes per accepted puzzle.
+ * <p>
+ * Every accepted puzzle is graded by {@link LogicalSolver} and the statistics
+ * include how many puzzles fell into each {@link Difficulty}. With
+ * {@code --difficulty} the workers use {@link PuzzleGenerator} to aim for a
+ * difficulty band within {@code --budget} milliseconds per puzzle, and the
+ * statistics add the latency percentiles of that tier.
+ * <p>
+ * With {@code --seed S} the puzzles are the ones generated from the consecutive
+ * seeds S, S+1, ... (see {@link Board#regenerateBoard(long)}), so a batch can be
+ * reproduced, or a single puzzle regenerated from its seed, instead of stored.
+ * With several threads the seeds are shared out between them, so the output
+ * order (and, with {@code --dedup}, which seeds are kept) can vary between runs.
+ * <p>
+ * With {@code --transform BANK} nothing is generated: every puzzle is a random
+ * {@link PuzzleTransformer} transformation of one of the curated puzzles in that
+ * binary bank, so it keeps the uniqueness and difficulty of its template and
+ * costs microseconds. The size is taken from the bank. Combined with
+ * {@code --seed}, each seed picks and transforms one template deterministically.
+ * <p>
+ * Usage: {@code PuzzleGeneratorCli --count N [--size 6|9|12|16] [--threads T]
+ * [--output FILE] [--format text|binary] [--dedup] [--difficulty MIN[..MAX]]
+ * [--budget MS] [--seed S] [--transform BANK] [--stats SECONDS] [--metrics-port P]}
+ * <p>
+ * With {@code --metrics-port} the model metrics (see {@link SudokuMetrics}) are
+ * served in Prometheus format on that local port while the batch runs.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class PuzzleGeneratorCli {
+
+    /**
+     * Maximum number of encoded puzzles waiting to be written.
+     */
+    private static final int QUEUE_CAPACITY = 4096;
+
+    /**
+     * Number of puzzles to generate.
+     */
+    private long count = 1000;
+
+    /**
+     * Geometry of the generated puzzles.
+     */
+    private BoardGeometry geometry = BoardGeometry.SIX;
+
+    /**
+     * Number of generator threads.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Output file, or null for stdout.
+     */
+    private String output;
+
+    /**
+     * Whether to write a binary bank instead of text lines.
+     */
+    private boolean binary;
+
+    /**
+     * Whether to drop puzzles isomorphic to one already generated.
+     */
+    private boolean dedup;
+
+    /**
+     * Easiest difficulty to aim for, or null to generate without a target.
+     */
+    private Difficulty minDifficulty;
+
+    /**
+     * Hardest difficulty to aim for, or null to generate without a target.
+     */
+    private Difficulty maxDifficulty;
+
+    /**
+     * Time budget per targeted puzzle, in milliseconds.
+     */
+    private long budgetMillis = 50;
+
+    /**
+     * Whether puzzles come from consecutive seeds starting at the value of {@code --seed}.
+     */
+    private boolean seeded;
+
+    /**
+     * Next seed to generate from, when seeded.
+     */
+    private final AtomicLong nextSeed = new AtomicLong();
+
+    /**
+     * Bank of curated puzzles to transform instead of generating, or null to generate.
+     */
+    private PuzzleBankReader templates;
+
+    /**
+     * Number of targeted puzzles that missed the band when the budget ran out.
+     */
+    private final AtomicLong outOfBand = new AtomicLong();
+
+    /**
+     * Canonical hashes of the puzzles accepted so far, when deduplicating.
+     */
+    private final LongSet seen = new LongSet();
+
+    /**
+     * Number of isomorphic puzzles dropped.
+     */
+    private final AtomicLong duplicates = new AtomicLong();
+
+    /**
+     * Accepted puzzles per difficulty, indexed by ordinal.
+     */
+    private final AtomicLongArray difficulties = new AtomicLongArray(Difficulty.values().length);
+
+    /**
+     * Seconds between statistics lines, 0 to disable them.
+     */
+    private int statsInterval = 5;
+
+    /**
+     * Local port of the metrics endpoint, or -1 to not serve metrics.
+     */
+    private int metricsPort = -1;
+
+    /**
+     * Number of puzzles written so far.
+     */
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Number of puzzles handed out to workers so far.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * Creates a generator with the default options; {@link #main(String[])} fills them in.
+     */
+    private PuzzleGeneratorCli() {
+    }
+
+    /**
+     * Program entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        PuzzleGeneratorCli cli = new PuzzleGeneratorCli();
+        try {
+            cli.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: PuzzleGeneratorCli --count N [--size 6|9|12|16] [--threads T] [--output FILE] [--format text|binary] [--dedup] [--difficulty MIN[..MAX]] [--budget MS] [--seed S] [--transform BANCO] [--stats SEGUNDOS] [--metrics-port P]");
+            System.exit(2);
+        }
+
+        try {
+            cli.run();
+        } catch (IOException e) {
+            System.err.println("Error escribiendo los puzzles: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the command line options.
+     *
+     * @param args command line arguments
+     * @throws IllegalArgumentException if an option is unknown or has an invalid value
+     */
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--dedup")) {
+                dedup = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--count":
+                        count = Long.parseLong(value);
+                        break;
+                    case "--size":
+                        geometry = BoardGeometry.ofSize(Integer.parseInt(value));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--format":
+                        if (!value.equals("text") && !value.equals("binary")) {
+                            throw new IllegalArgumentException("Formato desconocido: " + value);
+                        }
+                        binary = value.equals("binary");
+                        break;
+                    case "--difficulty":
+                        String[] band = value.split("\\.\\.");
+                        minDifficulty = parseDifficulty(band[0]);
+                        maxDifficulty = parseDifficulty(band[band.length - 1]);
+                        break;
+                    case "--budget":
+                        budgetMillis = Long.parseLong(value);
+                        break;
+                    case "--seed":
+                        nextSeed.set(Long.parseLong(value));
+                        seeded = true;
+                        break;
+                    case "--transform":
+                        openTemplates(value);
+                        break;
+                    case "--metrics-port":
+                        metricsPort = Integer.parseInt(value);
+                        break;
+                    case "--stats":
+                        statsInterval = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para " + option + ": " + value);
+            }
+        }
+        if (count < 0 || threads < 1 || statsInterval < 0 || budgetMillis < 0) {
+            throw new IllegalArgumentException("Los valores deben ser positivos");
+        }
+        if (binary && output == null) {
+            throw new IllegalArgumentException("El formato binario requiere --output");
+        }
+        if (templates != null) {
+            if (minDifficulty != null) {
+                // La transformación conserva la dificultad de cada plantilla
+                throw new IllegalArgumentException("--transform no se puede combinar con --difficulty");
+            }
+            if (dedup) {
+                // Toda transformación es isomorfa a su plantilla: se descartarían casi todas
+                throw new IllegalArgumentException("--transform no se puede combinar con --dedup");
+            }
+            geometry = templates.getGeometry();
+        }
+        if (dedup && geometry != BoardGeometry.SIX) {
+            throw new IllegalArgumentException("--dedup solo está disponible para 6x6");
+        }
+        if (seeded && minDifficulty != null) {
+            // La generación por dificultad depende del presupuesto de tiempo, no solo de la semilla
+            throw new IllegalArgumentException("--seed no se puede combinar con --difficulty");
+        }
+        if (minDifficulty != null && minDifficulty.compareTo(maxDifficulty) > 0) {
+            throw new IllegalArgumentException("Rango de dificultad vacío: " + minDifficulty + ".." + maxDifficulty);
+        }
+    }
+
+    /**
+     * Opens the bank of templates for {@code --transform}.
+     *
+     * @param path the bank file
+     * @throws IllegalArgumentException if the bank cannot be read or is empty
+     */
+    private void openTemplates(String path) {
+        try {
+            templates = new PuzzleBankReader(Paths.get(path));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se pudo leer el banco de plantillas: " + e.getMessage());
+        }
+        if (templates.size() == 0) {
+            throw new IllegalArgumentException("El banco de plantillas está vacío");
+        }
+    }
+
+    /**
+     * Parses a difficulty name, ignoring case.
+     *
+     * @param name the name of the difficulty
+     * @return the difficulty
+     * @throws IllegalArgumentException if no difficulty has that name
+     */
+    private static Difficulty parseDifficulty(String name) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.name().equalsIgnoreCase(name)) return difficulty;
+        }
+        throw new IllegalArgumentException("Dificultad desconocida: " + name);
+    }
+
+    /**
+     * Starts the workers and streams their output until {@link #count} puzzles are written.
+     *
+     * @throws IOException if the output cannot be written
+     * @throws InterruptedException if the writer is interrupted
+     */
+    private void run() throws IOException, InterruptedException {
+        BlockingQueue<Puzzle> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        long start = System.nanoTime();
+        HttpServer metrics = metricsPort >= 0 ? MetricsEndpoint.start(metricsPort) : null;
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> generate(queue), "Puzzle-Generator-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        ScheduledExecutorService stats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Puzzle-Generator-Stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (statsInterval > 0) {
+            stats.scheduleAtFixedRate(() -> printStats(start), statsInterval, statsInterval, TimeUnit.SECONDS);
+        }
+
+        try {
+            if (binary) {
+                writeBinary(queue);
+            } else {
+                writeText(queue);
+            }
+        } finally {
+            stats.shutdownNow();
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            if (metrics != null) metrics.stop(0);
+            if (templates != null) templates.close();
+        }
+        printStats(start);
+    }
+
+    /**
+     * Writes queued puzzles as text lines.
+     *
+     * @param queue the queue shared with the workers
+     * @throws IOException if the output cannot be written
+     * @throws InterruptedException if the writer is interrupted
+     */
+    private void writeText(BlockingQueue<Puzzle> queue) throws IOException, InterruptedException {
+        try (Writer writer = openOutput()) {
+            for (long i = 0; i < count; i++) {
+                writer.write(PuzzleTextFormat.format(queue.take()));
+                writer.write('\n');
+                written.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Writes queued puzzles as fixed-width records of a binary bank.
+     *
+     * @param queue the queue shared with the workers
+     * @throws IOException if the output cannot be written
+     * @throws InterruptedException if the writer is interrupted
+     */
+    private void writeBinary(BlockingQueue<Puzzle> queue) throws IOException, InterruptedException {
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(Paths.get(output), geometry)) {
+            for (long i = 0; i < count; i++) {
+                writer.append(queue.take());
+                written.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Worker loop: generates (or transforms) puzzles, drops isomorphs when deduplicating, and
+     * grades and queues accepted puzzles until the batch is exhausted.
+     *
+     * @param queue the queue shared with the writer
+     */
+    private void generate(BlockingQueue<Puzzle> queue) {
+        PuzzleCanonicalizer canonicalizer = dedup ? new PuzzleCanonicalizer() : null;
+        LogicalSolver grader = new LogicalSolver();
+        PuzzleGenerator generator = minDifficulty != null ? new PuzzleGenerator(geometry) : null;
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Board board = null;
+        try {
+            while (claimed.get() < count) {
+                Puzzle puzzle;
+                if (generator != null) {
+                    GenerationResult result = generator.generate(minDifficulty, maxDifficulty, budgetNanos);
+                    if (!result.isInBand()) outOfBand.incrementAndGet();
+                    puzzle = result.getPuzzle();
+                } else if (templates != null) {
+                    RandomGenerator random = seeded
+                            ? new SplittableRandom(nextSeed.getAndIncrement())
+                            : ThreadLocalRandom.current();
+                    puzzle = PuzzleTransformer.transform(templates.random(random), random);
+                } else if (seeded) {
+                    long seed = nextSeed.getAndIncrement();
+                    if (board == null) {
+                        board = new Board(geometry, seed);
+                    } else {
+                        board.regenerateBoard(seed);
+                    }
+                    puzzle = board.toPuzzle();
+                } else if (board == null) {
+                    board = new Board(geometry);
+                    puzzle = board.toPuzzle();
+                } else {
+                    board.regenerateBoard();
+                    puzzle = board.toPuzzle();
+                }
+
+                if (canonicalizer != null && !seen.add(canonicalizer.canonicalHash(puzzle))) {
+                    duplicates.incrementAndGet();
+                    continue;
+                }
+                if (claimed.getAndIncrement() >= count) {
+                    break;
+                }
+                difficulties.incrementAndGet(grader.grade(puzzle).getDifficulty().ordinal());
+                queue.put(puzzle);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the output file, or wraps stdout when no file was given.
+     *
+     * @return a buffered writer
+     * @throws IOException if the file cannot be opened
+     */
+    private Writer openOutput() throws IOException {
+        if (output == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        }
+        return Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prints progress and throughput to stderr.
+     *
+     * @param start the start time in nanoseconds
+     */
+    private void printStats(long start) {
+        long done = written.get();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.err.printf("%d/%d puzzles %dx%d en %.1f s (%.0f puzzles/s, %d hilos, %d isomorfos descartados)%n",
+                done, count, geometry.getSize(), geometry.getSize(), seconds,
+                seconds > 0 ? done / seconds : 0, threads, duplicates.get());
+
+        StringBuilder tally = new StringBuilder("  dificultad:");
+        for (Difficulty difficulty : Difficulty.values()) {
+            tally.append(' ').append(difficulty).append('=').append(difficulties.get(difficulty.ordinal()));
+        }
+        System.err.println(tally);
+        if (maxDifficulty != null) {
+            System.err.printf("  latencia %s: %s (%d fuera de rango)%n",
+                    maxDifficulty, PuzzleGenerator.getLatency(maxDifficulty), outOfBand.get());
+        }
+    }
+
+    /**
+     * Thread-safe set of primitive longs for the canonical hashes. The hashes are
+     * split by their top bits into independently locked segments, each an
+     * open-addressing table that doubles when it is half full.
+     */
+    private static final class LongSet {
+
+        /**
+         * Number of segments; a power of two.
+         */
+        private static final int SEGMENTS = 64;
+
+        /**
+         * Slot value that marks an empty slot; the hash 0 is tracked apart.
+         */
+        private static final long EMPTY = 0;
+
+        /**
+         * Open-addressing tables, one per segment.
+         */
+        private final long[][] tables = new long[SEGMENTS][];
+
+        /**
+         * Number of hashes stored in each segment.
+         */
+        private final int[] sizes = new int[SEGMENTS];
+
+        /**
+         * Locks of the segments.
+         */
+        private final Object[] locks = new Object[SEGMENTS];
+
+        /**
+         * Whether the hash 0 has been added.
+         */
+        private boolean zero;
+
+        /**
+         * Creates an empty set.
+         */
+        LongSet() {
+            for (int i = 0; i < SEGMENTS; i++) {
+                tables[i] = new long[1024];
+                locks[i] = new Object();
+            }
+        }
+
+        /**
+         * Adds a hash.
+         *
+         * @param value the hash
+         * @return true if it was not in the set yet
+         */
+        boolean add(long value) {
+            int segment = (int) (value >>> 58);
+            synchronized (locks[segment]) {
+                if (value == EMPTY) {
+                    boolean added = !zero;
+                    zero = true;
+                    return added;
+                }
+                long[] table = tables[segment];
+                if (!insert(table, value)) return false;
+                if (++sizes[segment] * 2 > table.length) {
+                    long[] grown = new long[table.length * 2];
+                    for (long old : table) {
+                        if (old != EMPTY) insert(grown, old);
+                    }
+                    tables[segment] = grown;
+                }
+                return true;
+            }
+        }
+
+        /**
+         * Inserts a non-zero value with linear probing.
+         *
+         * @param table a table with at least one empty slot
+         * @param value the value
+         * @return false if the value was already present
+         */
+        private static boolean insert(long[] table, long value) {
+            int mask = table.length - 1;
+            // Los hashes canónicos ya están mezclados: los bits bajos sirven de índice
+            int slot = (int) value & mask;
+            while (table[slot] != EMPTY) {
+                if (table[slot] == value) return false;
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value;
+            return true;
+        }
+    }
+}
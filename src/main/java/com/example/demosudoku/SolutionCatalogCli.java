@@ -0,0 +1,75 @@
+package com.example.demosudoku;
+
+import com.example.demosudoku.model.board.SolutionCatalog;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Headless entry point that enumerates every 6x6 solution grid in parallel and
+ * writes the {@link SolutionCatalog} table to a file. Passing that file as
+ * {@code -Ddemosudoku.catalog=FILE} to the game, the server or the generator
+ * lets them load the table instead of enumerating it at startup.
+ * <p>
+ * Usage: {@code SolutionCatalogCli --output FILE [--threads T]}
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class SolutionCatalogCli {
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private SolutionCatalogCli() {
+    }
+
+    /**
+     * Program entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--output":
+                        output = args[i + 1];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[i + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("Falta el valor de " + args[args.length - 1]);
+            }
+            if (output == null) {
+                throw new IllegalArgumentException("Falta --output");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("Los valores deben ser positivos");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: SolutionCatalogCli --output FICHERO [--threads T]");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        SolutionCatalog catalog = SolutionCatalog.build(threads);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        try {
+            catalog.write(Paths.get(output));
+        } catch (IOException e) {
+            System.err.println("Error escribiendo el catálogo: " + e.getMessage());
+            System.exit(1);
+        }
+        System.err.printf("%d cuadrículas normalizadas (%d soluciones 6x6) en %d ms con %d hilos%n",
+                catalog.size(), (long) catalog.size() * SolutionCatalog.RELABELLINGS, millis, threads);
+    }
+}
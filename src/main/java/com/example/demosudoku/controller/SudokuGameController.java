@@ -1,8 +1,12 @@
 package com.example.demosudoku.controller;
 
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.SuggestionEngine;
 import com.example.demosudoku.model.game.Game;
+import com.example.demosudoku.model.save.GameJournal;
 import com.example.demosudoku.model.user.User;
 import com.example.demosudoku.utils.AlertBox;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -10,13 +14,16 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.TextField;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ResourceBundle;
 
 /**
@@ -29,6 +36,16 @@ import java.util.ResourceBundle;
  */
 public class SudokuGameController implements Initializable {
 
+    /**
+     * Style class that briefly highlights a cell filled by a hint.
+     */
+    private static final String HINT_FLASH_CLASS = "hint-flash";
+
+    /**
+     * Directory where the game in progress is saved.
+     */
+    private static final Path SAVE_DIRECTORY = Path.of(System.getProperty("user.home"), ".demosudoku", "save");
+
     /**
      * The GridPane that contains the Sudoku board cells.
      */
@@ -47,27 +64,35 @@ public class SudokuGameController implements Initializable {
     private Game game;
 
     /**
-     * The current user playing the game.
+     * Saves every move of the current game so it can be resumed.
      */
-    private User user;
+    private GameJournal journal;
 
     /**
-     * Background thread that periodically checks if the board is complete and valid.
+     * The current user playing the game.
      */
-    private Thread victoryThread;
+    private User user;
 
     /**
      * Initializes the controller after its root element has been completely processed.
-     * Sets up the game, starts the board, configures the hint button, and starts victory checking.
+     * Resumes the saved game if there is one (otherwise starts a new board), configures
+     * the hint button, registers the victory listener and starts saving the moves.
      *
      * @param url the location used to resolve relative paths for the root object, or null if not known
      * @param resourceBundle the resources used to localize the root object, or null if not localized
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        game = new Game(boardGridPane);
+        GameEngine saved = null;
+        try {
+            saved = GameJournal.resume(SAVE_DIRECTORY);
+        } catch (IOException e) {
+            System.err.println("No se pudo reanudar la partida guardada: " + e.getMessage());
+        }
+        game = saved != null && !saved.isComplete() ? new Game(boardGridPane, saved) : new Game(boardGridPane);
         game.startGame();
-        startVictoryCheck();
+        game.setOnBoardCompleted(this::onBoardCompleted);
+        journal = GameJournal.start(game.getEngine(), SAVE_DIRECTORY);
 
         // Configurar click sobre la imagen de ayuda
         pista.setOnMouseClicked(this::handleHelpButton);
@@ -85,11 +110,13 @@ public class SudokuGameController implements Initializable {
     /**
      * Handles the return button click event.
      * Navigates back to the welcome screen when the user clicks the return button.
+     * The game stays saved and is resumed the next time the game screen opens.
      *
      * @param event the mouse event triggered by clicking the return button
      */
     @FXML
     private void handleReturnClick(MouseEvent event) {
+        closeJournal(false);
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/demosudoku/sudoku-welcome-view.fxml"));
             Parent root = loader.load();
@@ -113,7 +140,7 @@ public class SudokuGameController implements Initializable {
     @FXML
     private void handleHelpButton(MouseEvent event) {
         if (game != null) {
-            Game.SuggestionEngine suggestionEngine = game.getSuggestionEngine();
+            SuggestionEngine suggestionEngine = game.getSuggestionEngine();
             int[] suggestion = suggestionEngine.getSafeSuggestion();
 
             if (suggestion != null) {
@@ -131,98 +158,69 @@ public class SudokuGameController implements Initializable {
 
     /**
      * Highlights a cell on the board temporarily after applying a suggestion.
-     * The cell is given a light green background for 500 milliseconds.
+     * The cell gets the {@code hint-flash} style class for 500 milliseconds.
      *
      * @param row the row index of the cell to highlight
      * @param col the column index of the cell to highlight
      */
     private void highlightSuggestionCell(int row, int col) {
-        Node cell = getNodeFromGridPane(boardGridPane, col, row);
+        TextField cell = game.getTextFieldAt(row, col);
         if (cell != null) {
-            String originalStyle = cell.getStyle();
-            cell.setStyle("-fx-background-color: lightgreen; -fx-border-color: black;");
+            cell.getStyleClass().add(HINT_FLASH_CLASS);
 
-            // Restaurar estilo original después de 500 ms
-            new Thread(() -> {
-                try { Thread.sleep(500); } catch (InterruptedException e) {}
-                javafx.application.Platform.runLater(() -> cell.setStyle(originalStyle));
-            }).start();
+            // Quitar el resaltado después de 500 ms
+            PauseTransition pause = new PauseTransition(Duration.millis(500));
+            pause.setOnFinished(event -> cell.getStyleClass().remove(HINT_FLASH_CLASS));
+            pause.play();
         }
     }
 
     /**
-     * Retrieves a specific node from the GridPane based on row and column indices.
-     *
-     * @param grid the GridPane to search
-     * @param col the column index of the desired node
-     * @param row the row index of the desired node
-     * @return the Node at the specified position, or null if not found
+     * Called by the board the moment the player places the last correct value.
+     * The save is deleted, since there is nothing left to resume. The scene is
+     * switched on the next pulse so the text field that triggered the move
+     * finishes its own event handling first.
      */
-    private Node getNodeFromGridPane(GridPane grid, int col, int row) {
-        for (Node node : grid.getChildren()) {
-            Integer nodeCol = GridPane.getColumnIndex(node);
-            Integer nodeRow = GridPane.getRowIndex(node);
-            if (nodeCol != null && nodeRow != null && nodeCol == col && nodeRow == row) {
-                return node;
+    private void onBoardCompleted() {
+        closeJournal(true);
+        javafx.application.Platform.runLater(() -> {
+            try {
+                showVictoryScreen();
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.err.println("Error al mostrar pantalla de victoria: " + e.getMessage());
             }
-        }
-        return null;
+        });
     }
 
     /**
-     * Starts a background thread that periodically checks if the board is complete and valid.
-     * When the board is successfully completed, the victory screen is displayed.
-     * The thread checks every 2 seconds and runs as a daemon thread.
+     * Called when the game window is about to close. The game stays saved and is
+     * resumed the next time the game screen opens.
      */
-    private void startVictoryCheck() {
-        Thread victoryThread = new Thread(() -> {
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    Thread.sleep(2000); // Verificar cada 2 segundos
-
-                    if (game != null && game.isBoardComplete()) {
-                        System.out.println("¡Sudoku completado! Mostrando pantalla de victoria...");
-
-                        javafx.application.Platform.runLater(() -> {
-                            try {
-                                showVictoryScreen();
-                            } catch (IOException e) {
-                                e.printStackTrace();
-                                System.err.println("Error al mostrar pantalla de victoria: " + e.getMessage());
-                            }
-                        });
-                        break;
-                    }
-                } catch (InterruptedException e) {
-                    System.out.println("Hilo de verificación interrumpido");
-                    break;
-                } catch (Exception e) {
-                    System.err.println("Error en el hilo de verificación: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-        });
-
-        victoryThread.setDaemon(true);
-        victoryThread.setName("Victory-Check-Thread");
-        victoryThread.start();
+    public void handleWindowClose() {
+        closeJournal(false);
+    }
 
-        this.victoryThread = victoryThread;
+    /**
+     * Stops saving the current game. The journal's writer thread finishes the
+     * disk work, so the FX thread never waits for it.
+     *
+     * @param discard true to delete the save (the game is over), false to keep it for later
+     */
+    private void closeJournal(boolean discard) {
+        if (journal == null) return;
+        journal.closeInBackground(discard);
+        journal = null;
     }
 
     /**
      * Displays the victory screen when the player completes the Sudoku puzzle.
-     * Interrupts the victory checking thread and loads the final screen with a
-     * personalized victory message for the user.
+     * Loads the final screen with a personalized victory message for the user.
      *
      * @throws IOException if the victory screen FXML file cannot be loaded
      */
     private void showVictoryScreen() throws IOException {
         try {
-            if (victoryThread != null && victoryThread.isAlive()) {
-                victoryThread.interrupt();
-            }
-
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/demosudoku/sudoku-final-view.fxml"));
             Parent root = loader.load();
 
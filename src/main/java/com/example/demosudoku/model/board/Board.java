@@ -1,11 +1,31 @@
 package com.example.demosudoku.model.board;
 
+import com.example.demosudoku.model.metrics.BoardGenerationEvent;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.example.demosudoku.model.metrics.UniquenessCheckEvent;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleBankReader;
+import com.example.demosudoku.model.puzzle.PuzzleRecordCodec;
+import com.example.demosudoku.model.solver.BacktrackingSolver;
+import com.example.demosudoku.model.solver.ISolver;
+import com.example.demosudoku.model.solver.LogicalSolver;
+import com.example.demosudoku.model.solver.SolveTrace;
+
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Represents a 6x6 Sudoku board with 2x3 blocks.
+ * Represents a Sudoku board of any supported {@link BoardGeometry}
+ * (6x6 with 2x3 blocks by default).
  * This class handles board generation, validation, and maintains both
  * the playable board and its complete solution.
+ * <p>
+ * Every generated puzzle comes from a 64-bit seed: the same geometry and seed
+ * always produce the same puzzle, so a seed can serve as the puzzle's id.
+ * The seed is split into independent {@link SplittableRandom} streams for
+ * filling the solution, removing numbers and picking fallback suggestions; each
+ * board owns its streams, so boards generating in parallel share no state.
  *
  * @author Juan Marmolejo  William May
  * @version 1.0
@@ -13,84 +33,317 @@ import java.util.*;
 public class Board {
 
     /**
-     * The size of the board (6x6).
+     * The shape of the board.
      */
-    private static final int SIZE = 6;
+    private final BoardGeometry geometry;
 
     /**
-     * The number of rows in each block (2 rows).
+     * The side of the board, cached from the geometry.
      */
-    private static final int BLOCK_ROWS = 2;
+    private final int size;
 
     /**
-     * The number of columns in each block (3 columns).
+     * The current state of the playable board, stored as primitives with unit bitmasks.
      */
-    private static final int BLOCK_COLS = 3;
+    private final BoardCore board;
 
     /**
-     * The number of cells to remove from the complete board to create the puzzle.
-     * With 36 total cells and 12 hints, 24 cells are removed.
+     * The complete solution to the Sudoku puzzle.
      */
-    private static final int NUMBERS_TO_REMOVE = 24;
+    private final BoardCore solution;
 
     /**
-     * The current state of the playable board.
+     * List view over the playable board; writes go straight to the primitive core.
      */
-    private final List<List<Integer>> board;
+    private final List<List<Integer>> boardView;
 
     /**
-     * The complete solution to the Sudoku puzzle.
+     * Tracks which cells are locked (cannot be modified by the player).
      */
-    private final List<List<Integer>> solution;
+    private final boolean[][] lockedCells;
 
     /**
-     * Tracks which cells are locked (cannot be modified by the player).
+     * Seed of the current puzzle.
      */
-    private final boolean[][] lockedCells;
+    private long seed;
+
+    /**
+     * Whether the current puzzle was generated from {@link #seed} rather than loaded.
+     */
+    private boolean seeded;
+
+    /**
+     * Random stream for filling the solution.
+     */
+    private SplittableRandom fillRandom;
+
+    /**
+     * Random stream for the order in which numbers are removed.
+     */
+    private SplittableRandom removalRandom;
+
+    /**
+     * Random stream for fallback suggestions.
+     */
+    private SplittableRandom random = new SplittableRandom();
+
+    /**
+     * Per-depth digit orders for backtracking fills (boards larger than 6x6), created on first use.
+     */
+    private int[][] fillOrders;
+
+    /**
+     * Cell visiting order of the removal step, created on first use and reshuffled every time.
+     */
+    private int[] positions;
+
+    /**
+     * Placements left before the current fill attempt gives up and restarts.
+     */
+    private int fillBudget;
+
+    /**
+     * Engine used to check that the puzzle keeps a unique solution while removing numbers.
+     */
+    private ISolver solver;
+
+    /**
+     * Human-technique solver used to grade the puzzle and to pick hints.
+     */
+    private final LogicalSolver logicalSolver = new LogicalSolver();
 
     /**
-     * Random number generator for board generation.
+     * Called when a player write completes the board, or null.
      */
-    private final Random random = new Random();
+    private Runnable onCompleted;
 
     /**
-     * Constructs a new Board and initializes it with a generated puzzle.
+     * Constructs a new 6x6 Board and initializes it with a generated puzzle.
      */
     public Board() {
-        // Inicializar las listas con el tamaño correcto
-        board = new ArrayList<>(SIZE);
-        solution = new ArrayList<>(SIZE);
+        this(BoardGeometry.SIX);
+    }
 
-        // Inicializar cada fila con ceros
-        for (int i = 0; i < SIZE; i++) {
-            List<Integer> row = new ArrayList<>(Collections.nCopies(SIZE, 0));
-            board.add(row);
+    /**
+     * Constructs a new Board of the given geometry and initializes it with a generated puzzle.
+     *
+     * @param geometry the shape of the board
+     */
+    public Board(BoardGeometry geometry) {
+        this(geometry, new BacktrackingSolver());
+    }
 
-            List<Integer> solutionRow = new ArrayList<>(Collections.nCopies(SIZE, 0));
-            solution.add(solutionRow);
-        }
+    /**
+     * Constructs a new Board of the given geometry with the puzzle of a seed.
+     *
+     * @param geometry the shape of the board
+     * @param seed the seed that determines the puzzle
+     */
+    public Board(BoardGeometry geometry, long seed) {
+        this(geometry, new BacktrackingSolver(), seed);
+    }
 
-        lockedCells = new boolean[SIZE][SIZE];
-        initializeBoard();
+    /**
+     * Constructs a new Board of the given geometry that checks uniqueness with the given solver.
+     *
+     * @param geometry the shape of the board
+     * @param solver the engine used to count solutions during generation
+     */
+    public Board(BoardGeometry geometry, ISolver solver) {
+        this(geometry, solver, ThreadLocalRandom.current().nextLong());
     }
 
     /**
-     * Initializes the board by cleaning it and generating a new puzzle with a unique solution.
+     * Constructs a new Board of the given geometry with the puzzle of a seed,
+     * checking uniqueness with the given solver.
+     *
+     * @param geometry the shape of the board
+     * @param solver the engine used to count solutions during generation
+     * @param seed the seed that determines the puzzle
+     */
+    public Board(BoardGeometry geometry, ISolver solver, long seed) {
+        this(solver, geometry);
+        regenerateBoard(seed);
+    }
+
+    /**
+     * Constructs a Board from an already generated puzzle, skipping generation.
+     *
+     * @param puzzle the puzzle to load
+     */
+    public Board(Puzzle puzzle) {
+        this(new BacktrackingSolver(), puzzle.getGeometry());
+        loadPuzzle(puzzle);
+    }
+
+    /**
+     * Constructs a Board from a record of a puzzle bank, skipping generation.
+     * The values are read straight from the bank's mapping.
+     *
+     * @param bank the bank to read from
+     * @param index the index of the record
+     * @throws IndexOutOfBoundsException if the index is outside the bank
+     */
+    public Board(PuzzleBankReader bank, int index) {
+        this(new BacktrackingSolver(), bank.getGeometry());
+        bank.loadInto(index, this);
+    }
+
+    /**
+     * Constructs an empty Board that draws its solutions from a caller's random
+     * stream, without generating a puzzle. Used by {@link PuzzleGenerator}, which
+     * fills the solution and carves the puzzle itself.
+     *
+     * @param geometry the shape of the board
+     * @param random the stream the board's own streams are split from
+     */
+    Board(BoardGeometry geometry, SplittableRandom random) {
+        this(new BacktrackingSolver(), geometry);
+        fillRandom = random.split();
+        removalRandom = random.split();
+        this.random = random.split();
+    }
+
+    /**
+     * Constructs an empty Board with no puzzle; every public constructor
+     * delegates here and then generates or loads one.
+     *
+     * @param solver the engine used to count solutions during generation
+     * @param geometry the shape of the board
+     */
+    private Board(ISolver solver, BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.solver = solver;
+        this.size = geometry.getSize();
+        board = new BoardCore(geometry);
+        solution = new BoardCore(geometry);
+        boardView = new CoreView();
+
+        lockedCells = new boolean[size][size];
+    }
+
+    /**
+     * Initializes the board by cleaning it and generating a new puzzle with a unique solution
+     * from a fresh seed.
      */
     public void initializeBoard() {
+        regenerateBoard(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Replaces the current puzzle with the one generated from a seed.
+     * Slow generations are reported to Flight Recorder as {@link BoardGenerationEvent}s.
+     *
+     * @param seed the seed that determines the puzzle
+     */
+    public void regenerateBoard(long seed) {
+        BoardGenerationEvent event = new BoardGenerationEvent();
+        event.begin();
+        this.seed = seed;
+        this.seeded = true;
+        SplittableRandom root = new SplittableRandom(seed);
+        fillRandom = root.split();
+        removalRandom = root.split();
+        random = root.split();
+
         // Limpiar tableros
         cleanBoard();
 
         // Generar nuevo tablero con solución única
-        generatePuzzleWithUniqueSolution();
+        int attempts = generatePuzzleWithUniqueSolution();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.seed = seed;
+            event.attempts = attempts;
+            event.removed = geometry.getCells() - board.getFilledCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Replaces the current puzzle with an already generated one.
+     * The givens are placed on the board and locked, and the solution is stored for hints.
+     *
+     * @param puzzle the puzzle to load; it must have this board's geometry
+     * @throws IllegalArgumentException if the puzzle has a different geometry
+     */
+    public void loadPuzzle(Puzzle puzzle) {
+        if (puzzle.getGeometry() != geometry) {
+            throw new IllegalArgumentException("El puzzle es de otro tamaño: " + puzzle.getGeometry());
+        }
+        seeded = false;
+        cleanBoard();
+        solution.clear();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                board.set(i, j, puzzle.getGiven(i, j));
+                solution.set(i, j, puzzle.getSolution(i, j));
+            }
+        }
+        lockFilledCells();
+    }
+
+    /**
+     * Replaces the current puzzle with one stored as a binary record
+     * (see {@link PuzzleRecordCodec}), reading the values straight from the buffer.
+     *
+     * @param buffer the buffer holding the record, for example a memory-mapped bank
+     * @param offset the absolute offset of the record in the buffer
+     */
+    public void loadRecord(ByteBuffer buffer, int offset) {
+        seeded = false;
+        cleanBoard();
+        solution.clear();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int cell = i * size + j;
+                int value = PuzzleRecordCodec.solutionValue(geometry, buffer, offset, cell);
+                solution.set(i, j, value);
+                if (PuzzleRecordCodec.isGiven(geometry, buffer, offset, cell)) {
+                    board.set(i, j, value);
+                }
+            }
+        }
+        lockFilledCells();
+    }
+
+    /**
+     * Gets the seed the current puzzle was generated from; generating a board
+     * of the same geometry from it gives the same puzzle.
+     *
+     * @return the seed, or empty if the puzzle was loaded rather than generated
+     */
+    public OptionalLong getSeed() {
+        return seeded ? OptionalLong.of(seed) : OptionalLong.empty();
+    }
+
+    /**
+     * Exports the starting puzzle (locked cells) and its solution.
+     *
+     * @return an immutable snapshot of the puzzle
+     */
+    public Puzzle toPuzzle() {
+        byte[] givens = new byte[size * size];
+        byte[] values = new byte[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                givens[i * size + j] = (byte) (lockedCells[i][j] ? board.get(i, j) : 0);
+                values[i * size + j] = (byte) solution.get(i, j);
+            }
+        }
+        return new Puzzle(geometry, givens, values);
     }
 
     /**
      * Generates a Sudoku puzzle with a unique solution.
      * This involves generating a complete solution, copying it to the board,
      * removing numbers carefully, and locking the remaining cells.
+     *
+     * @return the number of cells the removal step tried
      */
-    private void generatePuzzleWithUniqueSolution() {
+    private int generatePuzzleWithUniqueSolution() {
         // Paso 1: Generar una solución completa válida
         generateCompleteSolution();
 
@@ -98,56 +351,75 @@ public class Board {
         copySolutionToBoard();
 
         // Paso 3: Remover números cuidadosamente manteniendo solución única
-        removeNumbersSafely();
+        int attempts = removeNumbersSafely();
 
         // Paso 4: Bloquear las celdas con números
         lockFilledCells();
+        return attempts;
     }
 
     /**
-     * Generates a complete valid Sudoku solution using backtracking.
+     * Generates a complete valid Sudoku solution. A 6x6 solution is drawn
+     * uniformly from every possible grid through the {@link SolutionCatalog};
+     * larger boards are filled by backtracking.
      */
-    private void generateCompleteSolution() {
-        // Limpiar solución
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                solution.get(i).set(j, 0);
+    void generateCompleteSolution() {
+        // La primera vez se enumera el catálogo; eso queda fuera de la medición
+        SolutionCatalog catalog = geometry == BoardGeometry.SIX ? SolutionCatalog.getInstance() : null;
+        long start = System.nanoTime();
+        if (catalog != null) {
+            catalog.draw(fillRandom, solution);
+        } else {
+            if (fillOrders == null) {
+                fillOrders = new int[geometry.getCells()][size];
             }
+            // Llenar la solución usando backtracking, reiniciando si la búsqueda se estanca
+            do {
+                solution.clear();
+                fillBudget = size * size * 4;
+            } while (!fillSolution(0));
         }
-
-        // Llenar la solución usando backtracking
-        fillSolution(0, 0);
+        long elapsed = System.nanoTime() - start;
+        SudokuMetrics.get().recordSolutionGeneration(elapsed);
     }
 
     /**
      * Recursively fills the solution board using backtracking algorithm.
+     * Each step fills the empty cell with the fewest candidates, which keeps
+     * the search shallow even on 16x16 boards. Random fills occasionally get
+     * stuck deep in the tree, so the search gives up once {@link #fillBudget}
+     * placements are spent and the caller restarts from an empty grid.
+     * <p>
+     * Nothing is allocated: each depth shuffles its own row of {@link #fillOrders}.
      *
-     * @param row the current row being filled
-     * @param col the current column being filled
+     * @param depth the number of cells already placed by this fill
      * @return true if the solution is successfully filled, false otherwise
      */
-    private boolean fillSolution(int row, int col) {
-        if (row == SIZE) {
+    private boolean fillSolution(int depth) {
+        int cell = solution.mostConstrainedCell();
+        if (cell < 0) {
             return true; // Solución completa
         }
+        int row = cell / size;
+        int col = cell % size;
 
-        if (col == SIZE) {
-            return fillSolution(row + 1, 0);
-        }
-
-        List<Integer> numbers = new ArrayList<>();
-        for (int i = 1; i <= SIZE; i++) numbers.add(i);
-        Collections.shuffle(numbers, random);
+        int[] numbers = fillOrders[depth];
+        for (int i = 0; i < size; i++) numbers[i] = i + 1;
+        shuffle(numbers, size, fillRandom);
 
-        for (int num : numbers) {
+        for (int i = 0; i < size; i++) {
+            int num = numbers[i];
             if (isValidInSolution(row, col, num)) {
-                solution.get(row).set(col, num);
+                if (--fillBudget < 0) {
+                    return false;
+                }
+                solution.set(row, col, num);
 
-                if (fillSolution(row, col + 1)) {
+                if (fillSolution(depth + 1)) {
                     return true;
                 }
 
-                solution.get(row).set(col, 0);
+                solution.set(row, col, 0);
             }
         }
         return false;
@@ -162,149 +434,127 @@ public class Board {
      * @return true if the number is valid at this position, false otherwise
      */
     private boolean isValidInSolution(int row, int col, int candidate) {
-        // Validar fila
-        for (int j = 0; j < SIZE; j++) {
-            if (solution.get(row).get(j) == candidate) return false;
-        }
-
-        // Validar columna
-        for (int i = 0; i < SIZE; i++) {
-            if (solution.get(i).get(col) == candidate) return false;
-        }
-
-        // Validar bloque 2x3
-        int blockStartRow = (row / BLOCK_ROWS) * BLOCK_ROWS;
-        int blockStartCol = (col / BLOCK_COLS) * BLOCK_COLS;
-        for (int i = blockStartRow; i < blockStartRow + BLOCK_ROWS; i++) {
-            for (int j = blockStartCol; j < blockStartCol + BLOCK_COLS; j++) {
-                if (solution.get(i).get(j) == candidate) return false;
-            }
-        }
-        return true;
+        return solution.canPlace(row, col, candidate);
     }
 
     /**
      * Copies the complete solution to the playable board.
      */
-    private void copySolutionToBoard() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                board.get(i).set(j, solution.get(i).get(j));
-            }
-        }
+    void copySolutionToBoard() {
+        board.copyFrom(solution);
     }
 
     /**
      * Removes numbers from the board while maintaining a unique solution.
      * Uses a careful approach to ensure the puzzle remains solvable with exactly one solution.
+     * The board starts as the complete solution and stays unique after every kept
+     * removal, so each step only needs {@link #isUniqueWithout(int, int, int)}.
+     *
+     * @return the number of cells tried
      */
-    private void removeNumbersSafely() {
-        List<int[]> positions = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                positions.add(new int[]{i, j});
-            }
+    int removeNumbersSafely() {
+        int cells = geometry.getCells();
+        if (positions == null) {
+            positions = new int[cells];
         }
-
-        Collections.shuffle(positions, random);
+        // Partir siempre del orden natural para que la misma semilla dé el mismo puzzle
+        for (int cell = 0; cell < cells; cell++) positions[cell] = cell;
+        shuffle(positions, cells, removalRandom);
 
         int removed = 0;
         int attempts = 0;
-        int maxAttempts = SIZE * SIZE * 2;
 
-        while (removed < NUMBERS_TO_REMOVE && attempts < maxAttempts && !positions.isEmpty()) {
-            int[] pos = positions.remove(0);
-            int row = pos[0];
-            int col = pos[1];
+        while (removed < geometry.getNumbersToRemove() && attempts < cells) {
+            int row = positions[attempts] / size;
+            int col = positions[attempts] % size;
 
-            if (board.get(row).get(col) != 0) {
-                int backup = board.get(row).get(col);
-                board.get(row).set(col, 0);
+            if (board.get(row, col) != 0) {
+                int backup = board.get(row, col);
+                board.set(row, col, 0);
 
                 // Verificar si todavía tiene solución única
-                if (hasUniqueSolution()) {
+                if (isUniqueWithout(row, col, backup)) {
                     removed++;
                 } else {
                     // Restaurar si pierde la unicidad
-                    board.get(row).set(col, backup);
+                    board.set(row, col, backup);
                 }
             }
             attempts++;
         }
+        SudokuMetrics.get().recordRemovals(attempts, removed);
+        return attempts;
     }
 
     /**
-     * Checks if the current board has a unique solution.
+     * Shuffles the first elements of an array in place (Fisher-Yates).
      *
-     * @return true if the board has exactly one solution, false otherwise
+     * @param values the array to shuffle
+     * @param length the number of leading elements to shuffle
+     * @param random the random stream to draw from
      */
-    private boolean hasUniqueSolution() {
-        // Hacer una copia del tablero actual
-        List<List<Integer>> boardCopy = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            boardCopy.add(new ArrayList<>(board.get(i)));
+    private static void shuffle(int[] values, int length, SplittableRandom random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
         }
-
-        // Contar soluciones
-        int solutionCount = countSolutions(0, 0);
-
-        // Restaurar el tablero
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                board.get(i).set(j, boardCopy.get(i).get(j));
-            }
-        }
-
-        return solutionCount == 1;
     }
 
     /**
-     * Counts the number of solutions for the current board state.
-     * Stops counting after finding more than one solution for efficiency.
+     * Checks if the current board has a unique solution using the configured solver.
+     * Solvers leave the board untouched, so no copy is needed. Slow checks are
+     * reported to Flight Recorder as {@link UniquenessCheckEvent}s.
      *
-     * @param row the current row being checked
-     * @param col the current column being checked
-     * @return the number of solutions found (stops at 2 for efficiency)
+     * @return true if the board has exactly one solution, false otherwise
      */
-    private int countSolutions(int row, int col) {
-        if (row == SIZE) {
-            return 1; // Solución encontrada
-        }
-
-        if (col == SIZE) {
-            return countSolutions(row + 1, 0);
-        }
-
-        if (board.get(row).get(col) != 0) {
-            return countSolutions(row, col + 1);
+    boolean hasUniqueSolution() {
+        UniquenessCheckEvent event = new UniquenessCheckEvent();
+        event.begin();
+        boolean unique = solver.countSolutions(board, 2) == 1;
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.nodes = solver.getNodeCount();
+            event.unique = unique;
+            event.commit();
         }
+        return unique;
+    }
 
-        int count = 0;
-        for (int num = 1; num <= SIZE; num++) {
-            if (isValid(row, col, num)) {
-                board.get(row).set(col, num);
-
-                count += countSolutions(row, col + 1);
-
-                // Si encontramos más de una solución, podemos parar
-                if (count > 1) {
-                    board.get(row).set(col, 0);
-                    return count;
-                }
-
-                board.get(row).set(col, 0);
-            }
+    /**
+     * Checks that the board is still unique after emptying one cell, given that it
+     * was unique with the cell filled. Any other solution must put a different
+     * digit in that cell, so a single search for one is enough. Slow checks are
+     * reported to Flight Recorder as {@link UniquenessCheckEvent}s.
+     *
+     * @param row the row of the cell just emptied
+     * @param col the column of the cell just emptied
+     * @param value the digit the cell held
+     * @return true if the board still has exactly one solution, false otherwise
+     */
+    boolean isUniqueWithout(int row, int col, int value) {
+        UniquenessCheckEvent event = new UniquenessCheckEvent();
+        event.begin();
+        boolean unique = !solver.hasSolutionExcluding(board, row, col, value);
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.nodes = solver.getNodeCount();
+            event.unique = unique;
+            event.commit();
         }
-        return count;
+        return unique;
     }
 
     /**
      * Locks all cells that currently contain numbers, preventing them from being modified.
      */
-    private void lockFilledCells() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                lockedCells[i][j] = (board.get(i).get(j) != 0);
+    void lockFilledCells() {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                lockedCells[i][j] = (board.get(i, j) != 0);
             }
         }
     }
@@ -319,31 +569,42 @@ public class Board {
      * @return the suggested number, or 0 if no valid suggestion exists
      */
     public int getSuggestion(int row, int col) {
-        if (board.get(row).get(col) != 0) return 0;
+        if (board.get(row, col) != 0) return 0;
 
         // Verificar si tenemos una solución almacenada
-        if (!solution.isEmpty() && solution.get(row).get(col) != 0) {
-            return solution.get(row).get(col);
+        if (solution.get(row, col) != 0) {
+            return solution.get(row, col);
         }
 
         // Fallback: usar el método antiguo
         List<Integer> possible = new ArrayList<>();
-        for (int n = 1; n <= SIZE; n++) {
+        for (int n = 1; n <= size; n++) {
             if (isValid(row, col, n)) possible.add(n);
         }
         if (possible.isEmpty()) return 0;
         return possible.get(random.nextInt(possible.size()));
     }
 
+    /**
+     * Gets the digits that no peer of a cell is using, as a single mask lookup.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return a bitmask where bit {@code d} is set when digit {@code d} is allowed
+     */
+    public int getCandidates(int row, int col) {
+        return board.candidates(row, col);
+    }
+
     /**
      * Checks if the current board matches the complete solution.
      *
      * @return true if all cells match the solution, false otherwise
      */
     public boolean isCorrectSolution() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board.get(i).get(j) != solution.get(i).get(j)) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (board.get(i, j) != solution.get(i, j)) {
                     return false;
                 }
             }
@@ -361,25 +622,9 @@ public class Board {
      * @return true if the number is valid at this position, false otherwise
      */
     public boolean isValid(int row, int col, int candidate) {
-        // Validar fila
-        for (int j = 0; j < SIZE; j++) {
-            if (board.get(row).get(j) == candidate) return false;
-        }
-
-        // Validar columna
-        for (int i = 0; i < SIZE; i++) {
-            if (board.get(i).get(col) == candidate) return false;
-        }
-
-        // Validar bloque 2x3
-        int blockStartRow = (row / BLOCK_ROWS) * BLOCK_ROWS;
-        int blockStartCol = (col / BLOCK_COLS) * BLOCK_COLS;
-        for (int i = blockStartRow; i < blockStartRow + BLOCK_ROWS; i++) {
-            for (int j = blockStartCol; j < blockStartCol + BLOCK_COLS; j++) {
-                if (board.get(i).get(j) == candidate) return false;
-            }
-        }
-        return true;
+        SudokuMetrics.get().countValidation();
+        if (candidate < 1 || candidate > size) return false;
+        return board.canPlace(row, col, candidate);
     }
 
     /**
@@ -396,7 +641,7 @@ public class Board {
      * @param col the column index of the cell to lock
      */
     public void lockCell(int row, int col) {
-        if (row >= 0 && row < SIZE && col >= 0 && col < SIZE) {
+        if (row >= 0 && row < size && col >= 0 && col < size) {
             lockedCells[row][col] = true;
         }
     }
@@ -408,7 +653,7 @@ public class Board {
      * @param col the column index of the cell to unlock
      */
     public void unlockCell(int row, int col) {
-        if (row >= 0 && row < SIZE && col >= 0 && col < SIZE) {
+        if (row >= 0 && row < size && col >= 0 && col < size) {
             lockedCells[row][col] = false;
         }
     }
@@ -428,9 +673,9 @@ public class Board {
      * Unlocks all cells that are currently empty (contain 0).
      */
     public void unlockEmptyCells() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board.get(i).get(j) == 0) lockedCells[i][j] = false;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (board.get(i, j) == 0) lockedCells[i][j] = false;
             }
         }
     }
@@ -439,12 +684,10 @@ public class Board {
      * Clears the entire board, unlocking all cells and setting all values to 0.
      */
     public void cleanBoard() {
-        for (int i = 0; i < SIZE; i++) {
+        for (int i = 0; i < size; i++) {
             Arrays.fill(lockedCells[i], false);
-            for (int j = 0; j < SIZE; j++) {
-                board.get(i).set(j, 0);
-            }
         }
+        board.clear();
     }
 
     /**
@@ -453,6 +696,262 @@ public class Board {
      * @return the board representation
      */
     public List<List<Integer>> getBoardAsList() {
+        return boardView;
+    }
+
+    /**
+     * Gets the primitive core that backs the playable board.
+     *
+     * @return the board core
+     */
+    public BoardCore getCore() {
         return board;
     }
+
+    /**
+     * Gets the solver used to check uniqueness during generation.
+     *
+     * @return the current solver
+     */
+    public ISolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Replaces the solver used to check uniqueness. Takes effect on the next generation.
+     *
+     * @param solver the new solver
+     */
+    public void setSolver(ISolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Gets the geometry of this board.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Writes a player move to the board. If the write fills the last cell with
+     * no repeated digit, the completion listener is called right away on the
+     * calling thread. Writes made while generating or solving never call it.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the new value, or 0 to empty the cell
+     */
+    public void setCell(int row, int col, int value) {
+        boolean wasComplete = board.isComplete();
+        board.set(row, col, value);
+        notifyIfCompleted(wasComplete);
+    }
+
+    /**
+     * Counts a victory and calls the completion listener if the board has just
+     * become complete. Shared by every player write, single or batched.
+     *
+     * @param wasComplete whether the board was complete before the write
+     */
+    private void notifyIfCompleted(boolean wasComplete) {
+        if (!wasComplete && board.isComplete()) {
+            SudokuMetrics.get().countVictory();
+            if (onCompleted != null) onCompleted.run();
+        }
+    }
+
+    /**
+     * Applies a batch of player moves atomically. Each move is checked against
+     * the board as left by the moves before it; if any move conflicts, targets a
+     * locked cell or is out of range, every move already written is rolled back
+     * and the board is left as it was. All moves are checked either way, so the
+     * result reports every conflict in the batch at once.
+     *
+     * @param moves (row, col, value) triples; value 0 empties the cell
+     * @return the per-move conflicts and whether the batch was applied
+     * @throws IllegalArgumentException if the array length is not a multiple of 3
+     */
+    public MoveBatchResult applyMoves(int[] moves) {
+        if (moves.length % 3 != 0) {
+            throw new IllegalArgumentException("Las jugadas deben ser tripletas (fila, columna, valor)");
+        }
+        int count = moves.length / 3;
+        long[] conflicts = new long[count];
+        BitSet locked = new BitSet(count);
+        BitSet outOfRange = new BitSet(count);
+        int[] previous = new int[count];
+        boolean wasComplete = board.isComplete();
+        boolean ok = true;
+
+        for (int i = 0; i < count; i++) {
+            int row = moves[3 * i];
+            int col = moves[3 * i + 1];
+            int value = moves[3 * i + 2];
+            previous[i] = -1;
+            if (row < 0 || col < 0 || row >= size || col >= size || value < 0 || value > size) {
+                outOfRange.set(i);
+                ok = false;
+            } else if (lockedCells[row][col]) {
+                locked.set(i);
+                ok = false;
+            } else if (value != 0 && board.get(row, col) != value && !board.canPlace(row, col, value)) {
+                conflicts[i] = conflictMask(row, col, value);
+                ok = false;
+            } else {
+                previous[i] = board.get(row, col);
+                board.set(row, col, value);
+            }
+        }
+
+        if (!ok) {
+            // Deshacer en orden inverso las jugadas que sí se escribieron
+            for (int i = count - 1; i >= 0; i--) {
+                if (previous[i] >= 0) board.set(moves[3 * i], moves[3 * i + 1], previous[i]);
+            }
+        } else {
+            notifyIfCompleted(wasComplete);
+        }
+        return new MoveBatchResult(geometry, moves.clone(), conflicts, locked, outOfRange, ok);
+    }
+
+    /**
+     * Finds the peers of a cell that hold a value.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the value to look for
+     * @return bit {@code k} set when peer {@code k} (in {@link BoardGeometry#getPeers(int)} order) holds the value
+     */
+    private long conflictMask(int row, int col, int value) {
+        int[] peers = geometry.getPeers(row * size + col);
+        long mask = 0;
+        for (int k = 0; k < peers.length; k++) {
+            int peer = peers[k];
+            if (board.get(peer / size, peer % size) == value) mask |= 1L << k;
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether every cell is filled and no row, column or block repeats a digit.
+     * Runs in constant time from the counters kept by the core.
+     *
+     * @return true if the board is solved
+     */
+    public boolean isComplete() {
+        SudokuMetrics.get().countVictoryCheck();
+        return board.isComplete();
+    }
+
+    /**
+     * Sets the listener called when a player write completes the board.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setOnCompleted(Runnable listener) {
+        this.onCompleted = listener;
+    }
+
+    /**
+     * Grades the starting puzzle (the locked cells) with the logical solver.
+     *
+     * @return the techniques needed to solve the puzzle without guessing
+     */
+    public SolveTrace grade() {
+        int[] givens = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (lockedCells[i][j]) givens[i * size + j] = board.get(i, j);
+            }
+        }
+        return logicalSolver.grade(geometry, givens);
+    }
+
+    /**
+     * Finds the placement a human would make next from the current board,
+     * using the easiest technique that fills a cell.
+     *
+     * @return {@code [row, column, value, technique ordinal]}, or null if nothing can be deduced
+     */
+    public int[] getLogicalHint() {
+        int[] values = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                values[i * size + j] = board.get(i, j);
+            }
+        }
+        return logicalSolver.nextPlacement(geometry, values);
+    }
+
+    /**
+     * Fixed-size list view that exposes a {@link BoardCore} as rows of integers.
+     * Reading and writing through the view keeps the core's bitmasks in sync;
+     * writes are player moves and go through {@link #setCell(int, int, int)}.
+     */
+    private final class CoreView extends AbstractList<List<Integer>> {
+
+        /**
+         * Pre-built row views, one per board row.
+         */
+        private final List<List<Integer>> rows = new ArrayList<>();
+
+        /**
+         * Creates the view and its row views.
+         */
+        CoreView() {
+            for (int i = 0; i < size; i++) {
+                rows.add(new RowView(i));
+            }
+        }
+
+        @Override
+        public List<Integer> get(int row) {
+            return rows.get(row);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * Fixed-size list view over one row of a {@link BoardCore}.
+     */
+    private final class RowView extends AbstractList<Integer> {
+
+        /**
+         * The row this view represents.
+         */
+        private final int row;
+
+        /**
+         * Creates a view over a single row.
+         *
+         * @param row the row index
+         */
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Integer get(int col) {
+            return board.get(row, col);
+        }
+
+        @Override
+        public Integer set(int col, Integer value) {
+            int old = board.get(row, col);
+            setCell(row, col, value);
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,13 @@
 package com.example.demosudoku.model.board;
 
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleBankReader;
+import com.example.demosudoku.model.puzzle.PuzzlePool;
+import com.example.demosudoku.model.solver.Difficulty;
+
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Adapter class that implements the IBoard interface and delegates
@@ -19,10 +26,49 @@ public class BoardAdapter implements IBoard {
     private final Board board;
 
     /**
-     * Constructs a new BoardAdapter with a new Board instance.
+     * Constructs a new BoardAdapter with a new 6x6 Board instance.
      */
     public BoardAdapter() {
-        this.board = new Board();
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a new BoardAdapter with a Board of the given geometry.
+     * When the shared {@link PuzzlePool} has a bank, a random record of it is
+     * loaded; otherwise a ready puzzle is taken from the pool, and the board is
+     * generated inline only when the pool is empty.
+     *
+     * @param geometry the shape of the board
+     */
+    public BoardAdapter(BoardGeometry geometry) {
+        PuzzlePool pool = PuzzlePool.getInstance(geometry);
+        PuzzleBankReader bank = pool.getBank();
+        if (bank != null) {
+            this.board = new Board(bank, ThreadLocalRandom.current().nextInt(bank.size()));
+        } else {
+            Puzzle puzzle = pool.poll();
+            this.board = puzzle != null ? new Board(puzzle) : new Board(geometry);
+        }
+    }
+
+    /**
+     * Constructs a new BoardAdapter with the puzzle generated from a seed,
+     * bypassing the pool so the puzzle is reproducible.
+     *
+     * @param geometry the shape of the board
+     * @param seed the seed that determines the puzzle
+     */
+    public BoardAdapter(BoardGeometry geometry, long seed) {
+        this.board = new Board(geometry, seed);
+    }
+
+    /**
+     * Constructs a new BoardAdapter on an already generated puzzle.
+     *
+     * @param puzzle the puzzle to play
+     */
+    public BoardAdapter(Puzzle puzzle) {
+        this.board = new Board(puzzle);
     }
 
     /**
@@ -39,11 +85,20 @@ public class BoardAdapter implements IBoard {
     }
 
     /**
-     * Regenerates the board with a new puzzle.
+     * Regenerates the board with a new puzzle, read from the pool's bank or
+     * taken from the pool when one is ready.
      */
     @Override
     public void regenerateBoard() {
-        board.regenerateBoard();
+        PuzzlePool pool = PuzzlePool.getInstance(board.getGeometry());
+        if (pool.loadNext(board)) return;
+
+        Puzzle puzzle = pool.poll();
+        if (puzzle != null) {
+            board.loadPuzzle(puzzle);
+        } else {
+            board.regenerateBoard();
+        }
     }
 
     /**
@@ -117,4 +172,97 @@ public class BoardAdapter implements IBoard {
     public int getSuggestion(int row, int col) {
         return board.getSuggestion(row, col);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the digits that no peer of a cell is using.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return a bitmask where bit {@code d} is set when digit {@code d} is allowed
+     */
+    @Override
+    public int getCandidates(int row, int col) {
+        return board.getCandidates(row, col);
+    }
+
+    /**
+     * Gets the geometry of the board.
+     *
+     * @return the board geometry
+     */
+    @Override
+    public BoardGeometry getGeometry() {
+        return board.getGeometry();
+    }
+
+    /**
+     * Finds the placement a human would make next.
+     *
+     * @return {@code [row, column, value, technique ordinal]}, or null if nothing can be deduced
+     */
+    @Override
+    public int[] getLogicalHint() {
+        return board.getLogicalHint();
+    }
+
+    /**
+     * Grades the starting puzzle by the hardest technique it needs.
+     *
+     * @return the difficulty of the puzzle
+     */
+    @Override
+    public Difficulty getDifficulty() {
+        return board.grade().getDifficulty();
+    }
+
+    /**
+     * Checks whether every cell is filled and no row, column or block repeats a digit.
+     *
+     * @return true if the board is solved
+     */
+    @Override
+    public boolean isComplete() {
+        return board.isComplete();
+    }
+
+    /**
+     * Sets the listener called as soon as a player move completes the board.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    @Override
+    public void setOnCompleted(Runnable listener) {
+        board.setOnCompleted(listener);
+    }
+
+    /**
+     * Applies a batch of moves atomically.
+     *
+     * @param moves (row, col, value) triples; value 0 empties the cell
+     * @return whether the batch was applied and the conflicting peers of every move
+     */
+    @Override
+    public MoveBatchResult applyMoves(int[] moves) {
+        return board.applyMoves(moves);
+    }
+
+    /**
+     * Gets the seed the current puzzle was generated from.
+     *
+     * @return the seed, or empty if the puzzle was loaded rather than generated
+     */
+    @Override
+    public OptionalLong getSeed() {
+        return board.getSeed();
+    }
+
+    /**
+     * Exports the locked cells and the solution as a puzzle.
+     *
+     * @return an immutable snapshot of the puzzle
+     */
+    @Override
+    public Puzzle toPuzzle() {
+        return board.toPuzzle();
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.demosudoku.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Primitive core of a Sudoku grid of any supported {@link BoardGeometry}.
+ * Cells are stored in a flat byte array and every row, column and block keeps
+ * an occupancy bitmask (bit {@code d} set when digit {@code d} is present), so
+ * validating a candidate is a single mask test with no allocation or unboxing.
+ * Per-unit digit counters keep the masks correct even if a unit temporarily
+ * holds the same digit twice. The same counters maintain the number of filled
+ * cells and of repeated digits, so completion is known after every write in
+ * constant time.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class BoardCore {
+
+    /**
+     * The shape of the board.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * The side of the board, cached from the geometry.
+     */
+    private final int size;
+
+    /**
+     * Cell values in row-major order, 0 meaning empty.
+     */
+    private final byte[] cells;
+
+    /**
+     * Block index of every cell, precomputed from the geometry.
+     */
+    private final byte[] blockOf;
+
+    /**
+     * Occupancy bitmask of each row.
+     */
+    private final int[] rowMasks;
+
+    /**
+     * Occupancy bitmask of each column.
+     */
+    private final int[] colMasks;
+
+    /**
+     * Occupancy bitmask of each block.
+     */
+    private final int[] blockMasks;
+
+    /**
+     * How many times each digit appears in each row, indexed by {@code row * (size + 1) + digit}.
+     */
+    private final byte[] rowCounts;
+
+    /**
+     * How many times each digit appears in each column.
+     */
+    private final byte[] colCounts;
+
+    /**
+     * How many times each digit appears in each block.
+     */
+    private final byte[] blockCounts;
+
+    /**
+     * Number of non-empty cells.
+     */
+    private int filled;
+
+    /**
+     * Number of extra occurrences of a digit in its row, column or block, summed over all units.
+     */
+    private int conflicts;
+
+    /**
+     * Creates an empty core for the given geometry.
+     *
+     * @param geometry the shape of the board
+     */
+    public BoardCore(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = new byte[geometry.getCells()];
+        this.blockOf = new byte[geometry.getCells()];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                blockOf[row * size + col] = (byte) geometry.blockIndex(row, col);
+            }
+        }
+        this.rowMasks = new int[size];
+        this.colMasks = new int[size];
+        this.blockMasks = new int[size];
+        this.rowCounts = new byte[size * (size + 1)];
+        this.colCounts = new byte[size * (size + 1)];
+        this.blockCounts = new byte[size * (size + 1)];
+    }
+
+    /**
+     * Gets the geometry of this core.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the value stored at a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the value, or 0 if the cell is empty
+     */
+    public int get(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    /**
+     * Stores a value at a cell, keeping every unit mask up to date.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the new value, or 0 to empty the cell
+     */
+    public void set(int row, int col, int value) {
+        int index = row * size + col;
+        int old = cells[index];
+        if (old == value) return;
+
+        int block = blockOf[index];
+        if (old == 0) filled++;
+        if (value == 0) filled--;
+        if (old != 0) {
+            rowMasks[row] = decrement(rowCounts, rowMasks[row], row, old);
+            colMasks[col] = decrement(colCounts, colMasks[col], col, old);
+            blockMasks[block] = decrement(blockCounts, blockMasks[block], block, old);
+        }
+        if (value != 0) {
+            rowMasks[row] = increment(rowCounts, rowMasks[row], row, value);
+            colMasks[col] = increment(colCounts, colMasks[col], col, value);
+            blockMasks[block] = increment(blockCounts, blockMasks[block], block, value);
+        }
+        cells[index] = (byte) value;
+    }
+
+    /**
+     * Checks whether a digit is absent from the row, column and block of a cell.
+     * Like the original list-based check, the cell's own value counts as a conflict.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param candidate the digit to test
+     * @return true if the digit can be placed, false otherwise
+     */
+    public boolean canPlace(int row, int col, int candidate) {
+        return ((rowMasks[row] | colMasks[col] | blockMasks[blockOf[row * size + col]]) & (1 << candidate)) == 0;
+    }
+
+    /**
+     * Returns the digits that are not used by any peer of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return a bitmask where bit {@code d} is set when digit {@code d} is allowed
+     */
+    public int candidates(int row, int col) {
+        return ~(rowMasks[row] | colMasks[col] | blockMasks[blockOf[row * size + col]]) & geometry.getAllDigits();
+    }
+
+    /**
+     * Gets the number of non-empty cells.
+     *
+     * @return the filled cell count
+     */
+    public int getFilledCount() {
+        return filled;
+    }
+
+    /**
+     * Gets the number of repeated digits: every extra occurrence of a digit
+     * in a row, column or block counts once.
+     *
+     * @return 0 if no unit repeats a digit
+     */
+    public int getConflictCount() {
+        return conflicts;
+    }
+
+    /**
+     * Checks whether every cell is filled and no unit repeats a digit.
+     *
+     * @return true if the grid is a complete, valid solution
+     */
+    public boolean isComplete() {
+        return filled == cells.length && conflicts == 0;
+    }
+
+    /**
+     * Finds the empty cell with the fewest candidates.
+     * Returns as soon as a cell with zero or one candidate is found.
+     *
+     * @return the row-major index of the cell, or -1 if the grid is full
+     */
+    public int mostConstrainedCell() {
+        int allDigits = geometry.getAllDigits();
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int index = 0; index < cells.length; index++) {
+            if (cells[index] != 0) continue;
+            int row = index / size;
+            int col = index - row * size;
+            int used = rowMasks[row] | colMasks[col] | blockMasks[blockOf[index]];
+            int count = Integer.bitCount(~used & allDigits);
+            if (count < bestCount) {
+                best = index;
+                bestCount = count;
+                if (count <= 1) return best;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Empties every cell and resets all masks.
+     */
+    public void clear() {
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(blockMasks, 0);
+        Arrays.fill(rowCounts, (byte) 0);
+        Arrays.fill(colCounts, (byte) 0);
+        Arrays.fill(blockCounts, (byte) 0);
+        filled = 0;
+        conflicts = 0;
+    }
+
+    /**
+     * Copies the whole state of another core with the same geometry into this one.
+     *
+     * @param other the core to copy from
+     */
+    public void copyFrom(BoardCore other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, size);
+        System.arraycopy(other.colMasks, 0, colMasks, 0, size);
+        System.arraycopy(other.blockMasks, 0, blockMasks, 0, size);
+        System.arraycopy(other.rowCounts, 0, rowCounts, 0, rowCounts.length);
+        System.arraycopy(other.colCounts, 0, colCounts, 0, colCounts.length);
+        System.arraycopy(other.blockCounts, 0, blockCounts, 0, blockCounts.length);
+        filled = other.filled;
+        conflicts = other.conflicts;
+    }
+
+    /**
+     * Adds one occurrence of a digit to a unit and returns the updated mask.
+     */
+    private int increment(byte[] counts, int mask, int unit, int digit) {
+        if (++counts[unit * (size + 1) + digit] > 1) conflicts++;
+        return mask | (1 << digit);
+    }
+
+    /**
+     * Removes one occurrence of a digit from a unit and returns the updated mask.
+     */
+    private int decrement(byte[] counts, int mask, int unit, int digit) {
+        int slot = unit * (size + 1) + digit;
+        if (--counts[slot] > 0) conflicts--;
+        return counts[slot] == 0 ? mask & ~(1 << digit) : mask;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.demosudoku.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Supported Sudoku board shapes.
+ * Each geometry defines the side of the board, the shape of its blocks and how
+ * many cells the generator tries to empty when building a puzzle.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public enum BoardGeometry {
+
+    /**
+     * 6x6 board with 2x3 blocks (the classic game of this application).
+     */
+    SIX(6, 2, 3, 24),
+
+    /**
+     * 9x9 board with 3x3 blocks.
+     */
+    NINE(9, 3, 3, 50),
+
+    /**
+     * 12x12 board with 3x4 blocks.
+     */
+    TWELVE(12, 3, 4, 84),
+
+    /**
+     * 16x16 board with 4x4 blocks.
+     */
+    SIXTEEN(16, 4, 4, 140);
+
+    /**
+     * The side of the board, which is also the highest digit.
+     */
+    private final int size;
+
+    /**
+     * The number of rows in each block.
+     */
+    private final int blockRows;
+
+    /**
+     * The number of columns in each block.
+     */
+    private final int blockCols;
+
+    /**
+     * The number of cells the generator tries to remove.
+     */
+    private final int numbersToRemove;
+
+    /**
+     * Peer cells (same row, column or block) of every cell, as row-major indices.
+     */
+    private final int[][] peers;
+
+    /**
+     * Cells of every unit: rows first, then columns, then blocks.
+     */
+    private final int[][] units;
+
+    /**
+     * Creates a geometry.
+     *
+     * @param size the side of the board
+     * @param blockRows the number of rows in each block
+     * @param blockCols the number of columns in each block
+     * @param numbersToRemove the number of cells the generator tries to remove
+     */
+    BoardGeometry(int size, int blockRows, int blockCols, int numbersToRemove) {
+        this.size = size;
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.numbersToRemove = numbersToRemove;
+        this.peers = buildPeers();
+        this.units = buildUnits();
+    }
+
+    /**
+     * Gets the side of the board.
+     *
+     * @return the number of rows (and columns, and digits)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of rows in each block.
+     *
+     * @return the block height
+     */
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    /**
+     * Gets the number of columns in each block.
+     *
+     * @return the block width
+     */
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    /**
+     * Gets the total number of cells on the board.
+     *
+     * @return size * size
+     */
+    public int getCells() {
+        return size * size;
+    }
+
+    /**
+     * Gets the number of cells the generator tries to remove.
+     *
+     * @return the target number of empty cells
+     */
+    public int getNumbersToRemove() {
+        return numbersToRemove;
+    }
+
+    /**
+     * Gets a bitmask with the bits of every digit (1..size) set.
+     *
+     * @return the digit mask
+     */
+    public int getAllDigits() {
+        return ((1 << size) - 1) << 1;
+    }
+
+    /**
+     * Returns the index of the block that contains a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the block index, counted row-major over the blocks
+     */
+    public int blockIndex(int row, int col) {
+        return (row / blockRows) * (size / blockCols) + (col / blockCols);
+    }
+
+    /**
+     * Gets the peers of a cell: every other cell in its row, column or block.
+     * The returned array is shared and must not be modified.
+     *
+     * @param cell the row-major cell index
+     * @return the row-major indices of the peers, in ascending order
+     */
+    public int[] getPeers(int cell) {
+        return peers[cell];
+    }
+
+    /**
+     * Gets the cells of every unit. Units {@code 0..size-1} are the rows,
+     * {@code size..2*size-1} the columns and {@code 2*size..3*size-1} the blocks.
+     * The returned arrays are shared and must not be modified.
+     *
+     * @return the row-major cell indices of each unit
+     */
+    public int[][] getUnits() {
+        return units;
+    }
+
+    /**
+     * Precomputes the cells of every row, column and block.
+     *
+     * @return the units
+     */
+    private int[][] buildUnits() {
+        int[][] result = new int[3 * size][size];
+        int[] blockFill = new int[size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                int block = blockIndex(row, col);
+                result[row][col] = cell;
+                result[size + col][row] = cell;
+                result[2 * size + block][blockFill[block]++] = cell;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Precomputes the peer list of every cell.
+     *
+     * @return the peers indexed by cell
+     */
+    private int[][] buildPeers() {
+        int cells = size * size;
+        int[][] result = new int[cells][];
+        int[] scratch = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int block = blockIndex(row, col);
+            int count = 0;
+            for (int other = 0; other < cells; other++) {
+                if (other == cell) continue;
+                int r = other / size;
+                int c = other % size;
+                if (r == row || c == col || blockIndex(r, c) == block) {
+                    scratch[count++] = other;
+                }
+            }
+            result[cell] = Arrays.copyOf(scratch, count);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the geometry with a given side.
+     *
+     * @param size the side of the board
+     * @return the matching geometry
+     * @throws IllegalArgumentException if no geometry has that side
+     */
+    public static BoardGeometry ofSize(int size) {
+        for (BoardGeometry geometry : values()) {
+            if (geometry.size == size) return geometry;
+        }
+        throw new IllegalArgumentException("Tamaño de tablero no soportado: " + size);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.solver.Difficulty;
+
+/**
+ * Outcome of a difficulty-targeted generation: the puzzle plus how it was graded
+ * and what it cost to build.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class GenerationResult {
+
+    /**
+     * The generated puzzle.
+     */
+    private final Puzzle puzzle;
+
+    /**
+     * The difficulty the logical solver assigned to the puzzle.
+     */
+    private final Difficulty difficulty;
+
+    /**
+     * Number of cells left empty.
+     */
+    private final int removed;
+
+    /**
+     * Whether the difficulty falls inside the requested band.
+     */
+    private final boolean inBand;
+
+    /**
+     * Number of complete solutions tried.
+     */
+    private final int attempts;
+
+    /**
+     * Time spent generating, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Creates a result.
+     *
+     * @param puzzle the generated puzzle
+     * @param difficulty its difficulty
+     * @param removed the number of empty cells
+     * @param inBand whether the difficulty is inside the requested band
+     * @param attempts the number of complete solutions tried
+     * @param elapsedNanos the time spent generating
+     */
+    GenerationResult(Puzzle puzzle, Difficulty difficulty, int removed, boolean inBand, int attempts, long elapsedNanos) {
+        this.puzzle = puzzle;
+        this.difficulty = difficulty;
+        this.removed = removed;
+        this.inBand = inBand;
+        this.attempts = attempts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the generated puzzle.
+     *
+     * @return the puzzle
+     */
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Gets the difficulty the logical solver assigned to the puzzle.
+     *
+     * @return the difficulty
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the number of cells left empty.
+     *
+     * @return the removed cell count
+     */
+    public int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Checks whether the puzzle reached the requested band, or is only the best
+     * candidate found before the time budget ran out.
+     *
+     * @return true if the difficulty is inside the band
+     */
+    public boolean isInBand() {
+        return inBand;
+    }
+
+    /**
+     * Gets the number of complete solutions tried.
+     *
+     * @return the attempt count
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the time spent generating.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
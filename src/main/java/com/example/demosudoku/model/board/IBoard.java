@@ -1,6 +1,10 @@
 package com.example.demosudoku.model.board;
 
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.solver.Difficulty;
+
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * Interface defining the contract for Sudoku board operations.
@@ -76,4 +80,70 @@ public interface IBoard {
      * @return the suggested number, or 0 if no valid suggestion exists
      */
     int getSuggestion(int row, int col);
-}
\ No newline at end of file
+
+    /**
+     * Gets the digits that no peer of a cell is using.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return a bitmask where bit {@code d} is set when digit {@code d} is allowed
+     */
+    int getCandidates(int row, int col);
+
+    /**
+     * Gets the geometry (size and block shape) of the board.
+     *
+     * @return the board geometry
+     */
+    BoardGeometry getGeometry();
+
+    /**
+     * Finds the placement a human would make next, using the easiest technique that fills a cell.
+     *
+     * @return {@code [row, column, value, technique ordinal]}, or null if nothing can be deduced
+     */
+    int[] getLogicalHint();
+
+    /**
+     * Grades the starting puzzle by the hardest technique it needs.
+     *
+     * @return the difficulty of the puzzle
+     */
+    Difficulty getDifficulty();
+
+    /**
+     * Checks whether every cell is filled and no row, column or block repeats a digit.
+     *
+     * @return true if the board is solved
+     */
+    boolean isComplete();
+
+    /**
+     * Sets the listener called, on the writing thread, as soon as a player move completes the board.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    void setOnCompleted(Runnable listener);
+
+    /**
+     * Applies a batch of moves atomically: either every move is written or none is.
+     *
+     * @param moves (row, col, value) triples; value 0 empties the cell
+     * @return whether the batch was applied and the conflicting peers of every move
+     */
+    MoveBatchResult applyMoves(int[] moves);
+
+    /**
+     * Gets the seed the current puzzle was generated from.
+     *
+     * @return the seed, or empty if the puzzle was loaded rather than generated
+     */
+    OptionalLong getSeed();
+
+    /**
+     * Exports the locked cells and the solution as a puzzle.
+     *
+     * @return an immutable snapshot of the puzzle
+     */
+    Puzzle toPuzzle();
+}
@@ -0,0 +1,143 @@
+package com.example.demosudoku.model.board;
+
+import java.util.BitSet;
+
+/**
+ * Outcome of {@link IBoard#applyMoves(int[])}: whether the batch was applied
+ * and, for every move, which peer cells it conflicts with.
+ * <p>
+ * Conflicts are a bitmask over the move's peers in the order returned by
+ * {@link BoardGeometry#getPeers(int)}: bit {@code k} is set when peer {@code k}
+ * already holds the move's value. A cell has at most 39 peers (16x16), so one
+ * long per move is enough.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class MoveBatchResult {
+
+    /**
+     * The geometry used to decode conflict masks.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * The moves as (row, col, value) triples.
+     */
+    private final int[] moves;
+
+    /**
+     * Conflict mask of every move.
+     */
+    private final long[] conflicts;
+
+    /**
+     * Moves on a locked cell.
+     */
+    private final BitSet locked;
+
+    /**
+     * Moves outside the board or with a value out of range.
+     */
+    private final BitSet outOfRange;
+
+    /**
+     * Whether every move was applied.
+     */
+    private final boolean applied;
+
+    /**
+     * Creates a result.
+     *
+     * @param geometry the board geometry
+     * @param moves the moves as (row, col, value) triples
+     * @param conflicts the conflict mask of every move
+     * @param locked the moves on a locked cell
+     * @param outOfRange the moves outside the board
+     * @param applied whether the batch was applied
+     */
+    MoveBatchResult(BoardGeometry geometry, int[] moves, long[] conflicts, BitSet locked, BitSet outOfRange, boolean applied) {
+        this.geometry = geometry;
+        this.moves = moves;
+        this.conflicts = conflicts;
+        this.locked = locked;
+        this.outOfRange = outOfRange;
+        this.applied = applied;
+    }
+
+    /**
+     * Checks whether the whole batch was applied. If any move was rejected, none was.
+     *
+     * @return true if the board now holds every move
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    /**
+     * Gets the number of moves in the batch.
+     *
+     * @return the move count
+     */
+    public int size() {
+        return conflicts.length;
+    }
+
+    /**
+     * Gets the conflict mask of a move.
+     *
+     * @param move the index of the move in the batch
+     * @return bit {@code k} set when peer {@code k} of the cell holds the same value
+     */
+    public long getConflicts(int move) {
+        return conflicts[move];
+    }
+
+    /**
+     * Checks whether a move targeted a locked cell.
+     *
+     * @param move the index of the move in the batch
+     * @return true if the cell is a given or was filled by a hint
+     */
+    public boolean isLocked(int move) {
+        return locked.get(move);
+    }
+
+    /**
+     * Checks whether a move was outside the board or had a value out of range.
+     *
+     * @param move the index of the move in the batch
+     * @return true if the move could not be checked at all
+     */
+    public boolean isOutOfRange(int move) {
+        return outOfRange.get(move);
+    }
+
+    /**
+     * Checks whether a move would have been accepted on its own within the batch.
+     *
+     * @param move the index of the move in the batch
+     * @return true if the move has no conflict and targets an editable cell
+     */
+    public boolean isValid(int move) {
+        return conflicts[move] == 0 && !locked.get(move) && !outOfRange.get(move);
+    }
+
+    /**
+     * Decodes the conflict mask of a move into cells.
+     *
+     * @param move the index of the move in the batch
+     * @return the row-major indices of the conflicting cells
+     */
+    public int[] getConflictCells(int move) {
+        long mask = conflicts[move];
+        int[] cells = new int[Long.bitCount(mask)];
+        if (cells.length == 0) return cells;
+
+        int[] peers = geometry.getPeers(moves[3 * move] * geometry.getSize() + moves[3 * move + 1]);
+        for (int i = 0; mask != 0; i++, mask &= mask - 1) {
+            cells[i] = peers[Long.numberOfTrailingZeros(mask)];
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.metrics.LatencyHistogram;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.solver.Difficulty;
+import com.example.demosudoku.model.solver.LogicalSolver;
+import com.example.demosudoku.model.solver.SolveTrace;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates puzzles inside a difficulty band within a time budget.
+ * <p>
+ * Each attempt fills a complete solution and visits every cell once in random
+ * order, removing it only if the logical solver still finishes the puzzle with
+ * techniques no harder than the top of the band. A puzzle the techniques can
+ * finish is unique by construction, so the backtracking uniqueness check only
+ * runs when the band includes {@link Difficulty#BEYOND}. Attempts that end
+ * below the band are retried with a new solution until the budget runs out,
+ * and the candidate closest to the band is returned. The budget is only checked
+ * between attempts, so every call carves at least one complete puzzle.
+ * <p>
+ * All randomness comes from one seed, so a generator created with the same
+ * seed produces the same sequence of puzzles.
+ * <p>
+ * The total latency of every call is recorded in a histogram per requested
+ * tier (the top of the band), shared by all generators in the process.
+ * Instances are not thread-safe; use one per thread.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class PuzzleGenerator {
+
+    /**
+     * Generation latency per requested tier.
+     */
+    private static final Map<Difficulty, LatencyHistogram> LATENCIES = new EnumMap<>(Difficulty.class);
+
+    static {
+        for (Difficulty difficulty : Difficulty.values()) {
+            LATENCIES.put(difficulty, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * The shape of the generated puzzles.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Board that holds the solution and the puzzle being carved.
+     */
+    private final Board board;
+
+    /**
+     * Grades the puzzle after every removal.
+     */
+    private final LogicalSolver grader = new LogicalSolver();
+
+    /**
+     * Row-major copy of the puzzle being carved, as the grader reads it.
+     */
+    private final int[] grid;
+
+    /**
+     * Cell visiting order, reshuffled on every attempt.
+     */
+    private final int[] positions;
+
+    /**
+     * Random stream for the visiting order, owned by this generator.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Cells removed by the last carve.
+     */
+    private int removed;
+
+    /**
+     * Creates a generator for a geometry from a fresh seed.
+     *
+     * @param geometry the shape of the generated puzzles
+     */
+    public PuzzleGenerator(BoardGeometry geometry) {
+        this(geometry, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a generator for a geometry whose puzzles are determined by a seed.
+     *
+     * @param geometry the shape of the generated puzzles
+     * @param seed the seed of the solutions and the removal orders
+     */
+    public PuzzleGenerator(BoardGeometry geometry, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        this.geometry = geometry;
+        this.board = new Board(geometry, root.split());
+        this.random = root.split();
+        this.grid = new int[geometry.getCells()];
+        this.positions = new int[geometry.getCells()];
+        for (int cell = 0; cell < positions.length; cell++) {
+            positions[cell] = cell;
+        }
+    }
+
+    /**
+     * Gets the latency histogram of a tier.
+     *
+     * @param tier the top of the requested band
+     * @return the shared histogram
+     */
+    public static LatencyHistogram getLatency(Difficulty tier) {
+        return LATENCIES.get(tier);
+    }
+
+    /**
+     * Generates a puzzle of exactly one difficulty.
+     *
+     * @param target the requested difficulty
+     * @param budgetNanos the time budget in nanoseconds
+     * @return the generated puzzle and its grade
+     */
+    public GenerationResult generate(Difficulty target, long budgetNanos) {
+        return generate(target, target, budgetNanos);
+    }
+
+    /**
+     * Generates a puzzle whose difficulty falls between two bounds.
+     * At least one attempt always completes, even if the budget is already spent.
+     *
+     * @param min the easiest acceptable difficulty
+     * @param max the hardest acceptable difficulty
+     * @param budgetNanos the time budget in nanoseconds
+     * @return the first puzzle inside the band, or the closest one found in time
+     * @throws IllegalArgumentException if the band is empty
+     */
+    public GenerationResult generate(Difficulty min, Difficulty max, long budgetNanos) {
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Rango de dificultad vacío: " + min + ".." + max);
+        }
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        Puzzle best = null;
+        Difficulty bestDifficulty = null;
+        int bestRemoved = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int attempts = 0;
+        do {
+            attempts++;
+            board.generateCompleteSolution();
+            board.copySolutionToBoard();
+            Difficulty difficulty = carve(max).getDifficulty();
+
+            int distance = distance(difficulty, min, max);
+            if (distance < bestDistance || (distance == bestDistance && removed > bestRemoved)) {
+                board.lockFilledCells();
+                best = board.toPuzzle();
+                bestDifficulty = difficulty;
+                bestRemoved = removed;
+                bestDistance = distance;
+            }
+        } while (bestDistance > 0 && System.nanoTime() < deadline);
+
+        long elapsed = System.nanoTime() - start;
+        LATENCIES.get(max).record(elapsed);
+        return new GenerationResult(best, bestDifficulty, bestRemoved, bestDistance == 0, attempts, elapsed);
+    }
+
+    /**
+     * Removes cells from the board in random order while the puzzle stays
+     * unique and no harder than the given difficulty. Every cell is visited, so
+     * the first removal always succeeds (it leaves a naked single) and the
+     * puzzle is never the full solution.
+     *
+     * @param max the hardest acceptable difficulty
+     * @return the grade of the carved puzzle
+     */
+    private SolveTrace carve(Difficulty max) {
+        BoardCore core = board.getCore();
+        int size = geometry.getSize();
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = core.get(cell / size, cell % size);
+        }
+        for (int i = positions.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = positions[i];
+            positions[i] = positions[j];
+            positions[j] = swap;
+        }
+
+        SolveTrace trace = grader.grade(geometry, grid);
+        removed = 0;
+        for (int cell : positions) {
+
+            int row = cell / size;
+            int col = cell % size;
+            int backup = grid[cell];
+            grid[cell] = 0;
+            core.set(row, col, 0);
+
+            SolveTrace next = grader.grade(geometry, grid);
+            boolean keep = next.isSolved()
+                    ? next.getDifficulty().compareTo(max) <= 0
+                    : max == Difficulty.BEYOND && board.isUniqueWithout(row, col, backup);
+            if (keep) {
+                trace = next;
+                removed++;
+            } else {
+                // Restaurar la celda si el puzzle deja de ser único o se vuelve demasiado difícil
+                grid[cell] = backup;
+                core.set(row, col, backup);
+            }
+        }
+        SudokuMetrics.get().recordRemovals(positions.length, removed);
+        return trace;
+    }
+
+    /**
+     * Measures how far a difficulty is from a band.
+     *
+     * @param difficulty the difficulty reached
+     * @param min the easiest acceptable difficulty
+     * @param max the hardest acceptable difficulty
+     * @return 0 inside the band, otherwise the number of levels outside it
+     */
+    private static int distance(Difficulty difficulty, Difficulty min, Difficulty max) {
+        if (difficulty.compareTo(min) < 0) return min.ordinal() - difficulty.ordinal();
+        if (difficulty.compareTo(max) > 0) return difficulty.ordinal() - max.ordinal();
+        return 0;
+    }
+}
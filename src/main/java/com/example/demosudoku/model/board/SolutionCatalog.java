@@ -0,0 +1,436 @@
+package com.example.demosudoku.model.board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Indexed catalog of every complete 6x6 (2x3) Sudoku grid.
+ * <p>
+ * There are {@value #GRIDS} grids. Relabelling the digits so that the first row
+ * reads 1 2 3 4 5 6 maps each of them to one of {@value #NORMALIZED_GRIDS}
+ * normalized grids, and every normalized grid has exactly {@value #RELABELLINGS}
+ * relabellings, one per possible first row. The catalog therefore stores only
+ * the normalized grids, as a sorted table of longs: rows 1 to 5 are each a
+ * permutation of the six digits, stored as its lexicographic rank in 10 bits,
+ * with row 1 in the highest bits so that numeric order is grid order. The
+ * table takes about 300 KB.
+ * <p>
+ * A grid's rank is {@code index * 720 + r}, where {@code index} is the position
+ * of its normalized grid in the table and {@code r} is the lexicographic rank
+ * of its first row. {@link #unrank(long, BoardCore)} is a table lookup plus a
+ * relabelling, so {@link #draw(RandomGenerator, BoardCore)} picks a grid
+ * uniformly at random in constant time. {@link #rank(BoardCore)} is a binary search.
+ * <p>
+ * The table is enumerated with the same rules as the board's solution filling
+ * ({@link BoardCore#canPlace(int, int, int)}), split across threads by the
+ * choice of row 1. It can also be written to disk and read back: when the
+ * system property {@value #FILE_PROPERTY} names a catalog file, the shared
+ * instance is read from it instead of enumerated; a file that cannot be read is
+ * reported to the caller rather than silently replaced by an enumeration.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class SolutionCatalog {
+
+    /**
+     * Number of complete 6x6 grids.
+     */
+    public static final long GRIDS = 28_200_960L;
+
+    /**
+     * Number of grids whose first row is 1 2 3 4 5 6.
+     */
+    public static final int NORMALIZED_GRIDS = 39_168;
+
+    /**
+     * Number of digit relabellings, and of grids per normalized grid.
+     */
+    public static final int RELABELLINGS = 720;
+
+    /**
+     * System property with the path of a catalog file to load the shared instance from.
+     */
+    public static final String FILE_PROPERTY = "demosudoku.catalog";
+
+    /**
+     * Side of the catalogued grids.
+     */
+    private static final int SIZE = 6;
+
+    /**
+     * Bits used by the rank of one row.
+     */
+    private static final int ROW_BITS = 10;
+
+    /**
+     * File signature ("SDKC").
+     */
+    private static final int MAGIC = 0x434B4453;
+
+    /**
+     * Length of the file header in bytes: magic and grid count.
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * Every ordering of the digits 1..6, packed 3 bits per digit (first digit
+     * in the low bits), indexed by lexicographic rank.
+     */
+    private static final int[] ORDERS = orders();
+
+    /**
+     * Factorials of 0..5, the weights of the Lehmer code of a row.
+     */
+    private static final int[] FACTORIALS = {1, 1, 2, 6, 24, 120};
+
+    /**
+     * The shared catalog, or null until it is first requested.
+     */
+    private static volatile SolutionCatalog instance;
+
+    /**
+     * The normalized grids, sorted.
+     */
+    private final long[] grids;
+
+    /**
+     * Creates a catalog over a sorted table of normalized grids.
+     *
+     * @param grids the packed grids
+     */
+    private SolutionCatalog(long[] grids) {
+        this.grids = grids;
+    }
+
+    /**
+     * Gets the process-wide catalog, loading or enumerating it on all cores on first use.
+     * The file named by {@value #FILE_PROPERTY} is read if the property is set;
+     * otherwise the catalog is enumerated.
+     *
+     * @return the shared catalog
+     * @throws UncheckedIOException if {@value #FILE_PROPERTY} names a file that cannot be
+     * read as a catalog; the next call tries again
+     */
+    public static SolutionCatalog getInstance() {
+        SolutionCatalog catalog = instance;
+        if (catalog == null) {
+            synchronized (SolutionCatalog.class) {
+                catalog = instance;
+                if (catalog == null) {
+                    String file = System.getProperty(FILE_PROPERTY);
+                    try {
+                        catalog = file != null ? read(Paths.get(file)) : build(Runtime.getRuntime().availableProcessors());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("No se pudo leer el catálogo de soluciones " + file, e);
+                    }
+                    instance = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Enumerates every normalized grid.
+     *
+     * @param threads the number of threads to enumerate with
+     * @return the new catalog
+     * @throws IllegalStateException if the enumeration is interrupted or does not find
+     * exactly {@value #NORMALIZED_GRIDS} grids
+     */
+    public static SolutionCatalog build(int threads) {
+        // La fila 1 comparte bloques con la fila 0: 4,5,6 a la izquierda y 1,2,3 a la derecha
+        int[] prefixes = new int[36];
+        int count = 0;
+        for (int index = 0; index < RELABELLINGS; index++) {
+            int order = ORDERS[index];
+            if (digit(order, 0) > 3 && digit(order, 1) > 3 && digit(order, 2) > 3) {
+                prefixes[count++] = index;
+            }
+        }
+
+        long[][] parts = new long[prefixes.length][];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            BoardCore grid = new BoardCore(BoardGeometry.SIX);
+            long[] scratch = new long[NORMALIZED_GRIDS];
+            int task;
+            while ((task = next.getAndIncrement()) < prefixes.length) {
+                parts[task] = enumerate(grid, prefixes[task], scratch);
+            }
+        };
+        Thread[] pool = new Thread[Math.max(1, threads) - 1];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new Thread(worker, "Solution-Catalog-" + i);
+            pool[i].setDaemon(true);
+            pool[i].start();
+        }
+        worker.run();
+        try {
+            for (Thread thread : pool) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Enumeración interrumpida", e);
+        }
+
+        // Los prefijos van en orden creciente y cada parte sale ordenada: basta concatenar
+        int total = 0;
+        for (long[] part : parts) total += part.length;
+        if (total != NORMALIZED_GRIDS) {
+            throw new IllegalStateException("Se esperaban " + NORMALIZED_GRIDS + " cuadrículas y se encontraron " + total);
+        }
+        long[] grids = new long[total];
+        int filled = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, grids, filled, part.length);
+            filled += part.length;
+        }
+        return new SolutionCatalog(grids);
+    }
+
+    /**
+     * Reads a catalog written by {@link #write(Path)}.
+     *
+     * @param path the catalog file
+     * @return the catalog
+     * @throws IOException if the file cannot be read or is not a complete, sorted catalog
+     */
+    public static SolutionCatalog read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() != HEADER_BYTES + 8L * NORMALIZED_GRIDS
+                || buffer.getInt() != MAGIC || buffer.getInt() != NORMALIZED_GRIDS) {
+            throw new IOException("No es un catálogo de soluciones compatible");
+        }
+        long[] grids = new long[NORMALIZED_GRIDS];
+        buffer.asLongBuffer().get(grids);
+        for (int i = 1; i < grids.length; i++) {
+            if (grids[i] <= grids[i - 1]) {
+                throw new IOException("El catálogo de soluciones no está ordenado");
+            }
+        }
+        return new SolutionCatalog(grids);
+    }
+
+    /**
+     * Writes the table to a file (a small header and one little-endian long per normalized grid).
+     *
+     * @param path the file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 8 * grids.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(grids.length);
+        buffer.asLongBuffer().put(grids);
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Gets the number of normalized grids in the table.
+     *
+     * @return {@value #NORMALIZED_GRIDS} for a complete catalog
+     */
+    public int size() {
+        return grids.length;
+    }
+
+    /**
+     * Writes the grid of a given rank into a board, replacing its contents.
+     *
+     * @param rank the rank, from 0 to {@value #GRIDS} - 1
+     * @param target a 6x6 board
+     * @throws IndexOutOfBoundsException if the rank is outside the catalog
+     */
+    public void unrank(long rank, BoardCore target) {
+        if (rank < 0 || rank >= (long) grids.length * RELABELLINGS) {
+            throw new IndexOutOfBoundsException("Rango fuera del catálogo: " + rank);
+        }
+        long packed = grids[(int) (rank / RELABELLINGS)];
+        int labels = ORDERS[(int) (rank % RELABELLINGS)];
+
+        target.clear();
+        for (int col = 0; col < SIZE; col++) {
+            target.set(0, col, digit(labels, col));
+        }
+        for (int row = 1; row < SIZE; row++) {
+            int order = ORDERS[(int) (packed >>> (ROW_BITS * (SIZE - 1 - row))) & 1023];
+            for (int col = 0; col < SIZE; col++) {
+                target.set(row, col, digit(labels, digit(order, col) - 1));
+            }
+        }
+    }
+
+    /**
+     * Finds the rank of a complete grid.
+     *
+     * @param grid a complete, valid 6x6 grid
+     * @return the rank, or -1 if the grid is not a valid solution
+     */
+    public long rank(BoardCore grid) {
+        if (grid.getGeometry() != BoardGeometry.SIX || !grid.isComplete()) return -1;
+
+        // Etiqueta normalizada de cada dígito: su posición en la primera fila
+        int[] normal = new int[SIZE + 1];
+        int first = 0;
+        for (int col = 0; col < SIZE; col++) {
+            normal[grid.get(0, col)] = col + 1;
+            first |= grid.get(0, col) << (3 * col);
+        }
+        long packed = 0;
+        for (int row = 1; row < SIZE; row++) {
+            int order = 0;
+            for (int col = 0; col < SIZE; col++) {
+                order |= normal[grid.get(row, col)] << (3 * col);
+            }
+            packed = (packed << ROW_BITS) | rankOf(order);
+        }
+
+        int index = Arrays.binarySearch(grids, packed);
+        return index < 0 ? -1 : (long) index * RELABELLINGS + rankOf(first);
+    }
+
+    /**
+     * Writes a grid drawn uniformly at random into a board.
+     *
+     * @param random the source of randomness
+     * @param target a 6x6 board
+     * @return the rank of the grid drawn
+     */
+    public long draw(RandomGenerator random, BoardCore target) {
+        long rank = random.nextLong((long) grids.length * RELABELLINGS);
+        unrank(rank, target);
+        return rank;
+    }
+
+    /**
+     * Enumerates, in increasing order, the normalized grids with a given row 1.
+     *
+     * @param grid a scratch 6x6 board
+     * @param second the rank of row 1
+     * @param scratch a table large enough for every normalized grid
+     * @return the packed grids
+     */
+    private static long[] enumerate(BoardCore grid, int second, long[] scratch) {
+        grid.clear();
+        int order = ORDERS[second];
+        for (int col = 0; col < SIZE; col++) {
+            grid.set(0, col, col + 1);
+            grid.set(1, col, digit(order, col));
+        }
+        int count = fill(grid, 2 * SIZE, scratch, 0);
+        return Arrays.copyOf(scratch, count);
+    }
+
+    /**
+     * Fills the cells from {@code cell} onwards in every valid way, trying digits in
+     * increasing order so the grids come out sorted.
+     *
+     * @param grid the grid being filled
+     * @param cell the next row-major cell to fill
+     * @param found the output table
+     * @param count the number of grids already in the table
+     * @return the new number of grids in the table
+     */
+    private static int fill(BoardCore grid, int cell, long[] found, int count) {
+        if (cell == SIZE * SIZE) {
+            found[count] = pack(grid);
+            return count + 1;
+        }
+        int row = cell / SIZE;
+        int col = cell % SIZE;
+        for (int digit = 1; digit <= SIZE; digit++) {
+            if (grid.canPlace(row, col, digit)) {
+                grid.set(row, col, digit);
+                count = fill(grid, cell + 1, found, count);
+                grid.set(row, col, 0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Packs rows 1 to 5 of a complete grid, row 1 in the highest bits.
+     *
+     * @param grid a complete grid
+     * @return the packed grid
+     */
+    private static long pack(BoardCore grid) {
+        long packed = 0;
+        for (int row = 1; row < SIZE; row++) {
+            int order = 0;
+            for (int col = 0; col < SIZE; col++) {
+                order |= grid.get(row, col) << (3 * col);
+            }
+            packed = (packed << ROW_BITS) | rankOf(order);
+        }
+        return packed;
+    }
+
+    /**
+     * Computes the lexicographic rank of an ordering of the digits 1..6 (its Lehmer code).
+     *
+     * @param order the packed ordering
+     * @return the rank, from 0 to 719
+     */
+    private static int rankOf(int order) {
+        int rank = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int smaller = 0;
+            for (int j = i + 1; j < SIZE; j++) {
+                if (digit(order, j) < digit(order, i)) smaller++;
+            }
+            rank += smaller * FACTORIALS[SIZE - 1 - i];
+        }
+        return rank;
+    }
+
+    /**
+     * Reads one digit of a packed ordering.
+     *
+     * @param order the packed ordering
+     * @param position the position, from 0
+     * @return the digit
+     */
+    private static int digit(int order, int position) {
+        return (order >>> (3 * position)) & 7;
+    }
+
+    /**
+     * Lists every ordering of the digits 1..6 packed 3 bits per digit, in lexicographic order.
+     *
+     * @return the 720 packed orderings
+     */
+    private static int[] orders() {
+        int[] orders = new int[RELABELLINGS];
+        int[] digits = new int[SIZE];
+        for (int index = 0; index < RELABELLINGS; index++) {
+            // Decodificar el índice en base factorial (código de Lehmer)
+            for (int i = 0; i < SIZE; i++) digits[i] = i + 1;
+            int rest = index;
+            int block = RELABELLINGS;
+            int packed = 0;
+            for (int position = 0; position < SIZE; position++) {
+                block /= SIZE - position;
+                int pick = position + rest / block;
+                rest %= block;
+                int digit = digits[pick];
+                System.arraycopy(digits, position, digits, position + 1, pick - position);
+                digits[position] = digit;
+                packed |= digit << (3 * position);
+            }
+            orders[index] = packed;
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,476 @@
+package com.example.demosudoku.model.engine;
+
+import com.example.demosudoku.model.board.BoardAdapter;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.IBoard;
+import com.example.demosudoku.model.board.MoveBatchResult;
+import com.example.demosudoku.model.puzzle.Puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules of a Sudoku game with no user interface: it owns the board, applies
+ * and validates moves, detects completion and gives hints. Views (the JavaFX
+ * {@code Game}, a server session, a test) drive it through
+ * {@link #applyMove(int, int, int)} and follow the board through
+ * {@link IGameListener}s. Accepted moves, batches and hints can be undone and
+ * redone; the history keeps one packed long per changed cell. Nothing here depends on JavaFX, so thousands of
+ * engines can run headless in one process.
+ * <p>
+ * An engine is not thread-safe; each game must be driven from one thread at a time.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class GameEngine {
+
+    /**
+     * The board being played.
+     */
+    private final IBoard board;
+
+    /**
+     * The puzzle the game started from: the givens locked on creation and the solution.
+     */
+    private final Puzzle puzzle;
+
+    /**
+     * Hint engine, created on first use and reused for the rest of the game.
+     */
+    private SuggestionEngine suggestionEngine;
+
+    /**
+     * Listeners notified after every move.
+     */
+    private final List<IGameListener> listeners = new ArrayList<>();
+
+    /**
+     * Undo/redo history of the changes made through this engine.
+     */
+    private final MoveHistory history = new MoveHistory();
+
+    /**
+     * Values of the cells of the last batch before it was applied, reused between batches.
+     */
+    private int[] batchValues = new int[0];
+
+    /**
+     * Creates a game on a new 6x6 board.
+     */
+    public GameEngine() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Creates a game on a new board of the given geometry.
+     *
+     * @param geometry the shape of the board to play on
+     */
+    public GameEngine(BoardGeometry geometry) {
+        this(new BoardAdapter(geometry));
+    }
+
+    /**
+     * Creates a game on an existing board. Filled cells are locked as givens
+     * and empty cells are unlocked.
+     *
+     * @param board the board to play on
+     */
+    public GameEngine(IBoard board) {
+        this.board = board;
+        int size = board.getGeometry().getSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (board.getBoard().get(i).get(j) != 0) board.lockCell(i, j);
+            }
+        }
+        board.unlockEmptyCells();
+        this.puzzle = board.toPuzzle();
+    }
+
+    /**
+     * Gets the board being played.
+     *
+     * @return the board
+     */
+    public IBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the puzzle the game started from. Cells locked later by hints are not
+     * among its givens.
+     *
+     * @return the starting puzzle
+     */
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Gets the geometry of the board.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return board.getGeometry();
+    }
+
+    /**
+     * Gets the value of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the value, or 0 if the cell is empty
+     */
+    public int getValue(int row, int col) {
+        return board.getBoard().get(row).get(col);
+    }
+
+    /**
+     * Checks whether a cell can no longer be changed by the player.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true for givens and cells filled by a hint
+     */
+    public boolean isLocked(int row, int col) {
+        return board.isCellLocked(row, col);
+    }
+
+    /**
+     * Checks whether a cell is one of the givens of the starting puzzle.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true for givens, false for empty cells and cells filled by the player or a hint
+     */
+    public boolean isGiven(int row, int col) {
+        return puzzle.getGiven(row, col) != 0;
+    }
+
+    /**
+     * Applies a player move. A number is written only if it does not repeat in its
+     * row, column or block; otherwise the board is left unchanged.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number to place, or 0 to empty the cell
+     * @return what the engine did with the move
+     */
+    public MoveResult applyMove(int row, int col, int value) {
+        MoveResult result = checkMove(row, col, value);
+        if (result == null) {
+            if (value == 0) {
+                result = MoveResult.CLEARED;
+            } else if (getValue(row, col) == value || board.isValid(row, col, value)) {
+                result = MoveResult.PLACED;
+            } else {
+                result = MoveResult.CONFLICT;
+            }
+            if (result.isAccepted()) {
+                record(row, col, value, 0L);
+                write(row, col, value);
+            }
+        }
+        notifyListeners(row, col, value, result);
+        return result;
+    }
+
+    /**
+     * Applies a batch of player moves atomically: either every move is written or
+     * none is. Listeners hear about every move: {@link MoveResult#PLACED} or
+     * {@link MoveResult#CLEARED} when the batch is applied; otherwise the result
+     * that rejected each move, and {@link MoveResult#CONFLICT} for moves that were
+     * only rolled back with the rest.
+     *
+     * @param moves (row, col, value) triples; value 0 empties the cell
+     * @return whether the batch was applied and the conflicting peers of every move
+     */
+    public MoveBatchResult applyMoves(int[] moves) {
+        int count = moves.length / 3;
+        if (batchValues.length < count) {
+            batchValues = new int[Math.max(count, 2 * batchValues.length)];
+        }
+        int size = board.getGeometry().getSize();
+        for (int i = 0; i < count; i++) {
+            int row = moves[3 * i];
+            int col = moves[3 * i + 1];
+            boolean inRange = row >= 0 && col >= 0 && row < size && col < size;
+            batchValues[i] = inRange ? getValue(row, col) : 0;
+        }
+
+        MoveBatchResult batch = board.applyMoves(moves);
+        if (batch.isApplied()) {
+            recordBatch(moves, count);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            int row = moves[3 * i];
+            int col = moves[3 * i + 1];
+            int value = moves[3 * i + 2];
+            MoveResult result;
+            if (batch.isOutOfRange(i)) {
+                result = MoveResult.INVALID_VALUE;
+            } else if (batch.isLocked(i)) {
+                result = MoveResult.LOCKED;
+            } else if (!batch.isApplied()) {
+                result = MoveResult.CONFLICT;
+            } else {
+                result = value == 0 ? MoveResult.CLEARED : MoveResult.PLACED;
+                if (suggestionEngine != null) suggestionEngine.onCellChanged(row, col);
+            }
+            notifyListeners(row, col, value, result);
+        }
+        return batch;
+    }
+
+    /**
+     * Fills a cell with a hint and locks it.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number to place
+     * @return {@link MoveResult#HINTED} if the hint was applied, otherwise why it was not
+     */
+    public MoveResult applyHint(int row, int col, int value) {
+        MoveResult result = checkMove(row, col, value);
+        if (result == null) {
+            if (value == 0 || !board.isValid(row, col, value)) {
+                result = value == 0 ? MoveResult.INVALID_VALUE : MoveResult.CONFLICT;
+            } else {
+                record(row, col, value, MoveHistory.HINT);
+                write(row, col, value);
+                board.lockCell(row, col);
+                result = MoveResult.HINTED;
+            }
+        }
+        notifyListeners(row, col, value, result);
+        return result;
+    }
+
+    /**
+     * Finds and applies the next safe hint.
+     *
+     * @return the applied hint as [row, column, number], or null if none is available
+     */
+    public int[] hint() {
+        int[] suggestion = getSuggestionEngine().getSafeSuggestion();
+        if (suggestion != null && applyHint(suggestion[0], suggestion[1], suggestion[2]) == MoveResult.HINTED) {
+            return suggestion;
+        }
+        return null;
+    }
+
+    /**
+     * Reverts the last move, batch or hint that is not yet undone. Cells filled by
+     * a hint are unlocked again. Listeners hear about every reverted cell as
+     * {@link MoveResult#PLACED} or {@link MoveResult#CLEARED}.
+     *
+     * @return true if something was undone, false if the history is at its start
+     */
+    public boolean undo() {
+        if (!history.canUndo()) return false;
+        long entry;
+        do {
+            entry = history.undo();
+            int cell = MoveHistory.cell(entry);
+            int size = board.getGeometry().getSize();
+            int row = cell / size;
+            int col = cell % size;
+            int value = MoveHistory.oldValue(entry);
+            if ((entry & MoveHistory.HINT) != 0) {
+                board.unlockCell(row, col);
+            }
+            write(row, col, value);
+            notifyListeners(row, col, value, value == 0 ? MoveResult.CLEARED : MoveResult.PLACED);
+        } while ((entry & MoveHistory.CONTINUES) != 0);
+        return true;
+    }
+
+    /**
+     * Applies again the last undone move, batch or hint. Hints are locked again
+     * and reported as {@link MoveResult#HINTED}.
+     *
+     * @return true if something was redone, false if nothing was undone since the last move
+     */
+    public boolean redo() {
+        if (!history.canRedo()) return false;
+        do {
+            long entry = history.redo();
+            int cell = MoveHistory.cell(entry);
+            int size = board.getGeometry().getSize();
+            int row = cell / size;
+            int col = cell % size;
+            int value = MoveHistory.newValue(entry);
+            write(row, col, value);
+            MoveResult result;
+            if ((entry & MoveHistory.HINT) != 0) {
+                board.lockCell(row, col);
+                result = MoveResult.HINTED;
+            } else {
+                result = value == 0 ? MoveResult.CLEARED : MoveResult.PLACED;
+            }
+            notifyListeners(row, col, value, result);
+        } while (history.redoContinues());
+        return true;
+    }
+
+    /**
+     * Checks whether there is a move to undo.
+     *
+     * @return true if {@link #undo()} would change the board
+     */
+    public boolean canUndo() {
+        return history.canUndo();
+    }
+
+    /**
+     * Checks whether there is an undone move to redo.
+     *
+     * @return true if {@link #redo()} would change the board
+     */
+    public boolean canRedo() {
+        return history.canRedo();
+    }
+
+    /**
+     * Checks if the board is completely filled and valid, in constant time.
+     *
+     * @return true if the board is complete and valid, false otherwise
+     */
+    public boolean isComplete() {
+        return board.isComplete();
+    }
+
+    /**
+     * Sets the action to run the moment a move completes the board.
+     *
+     * @param listener the action to run, or null to remove it
+     */
+    public void setOnCompleted(Runnable listener) {
+        board.setOnCompleted(listener);
+    }
+
+    /**
+     * Registers a listener for every move.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(IGameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a move listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(IGameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the SuggestionEngine for this game.
+     * The engine is created once and kept in sync with every board change.
+     *
+     * @return the long-lived SuggestionEngine instance
+     */
+    public SuggestionEngine getSuggestionEngine() {
+        if (suggestionEngine == null) {
+            suggestionEngine = new SuggestionEngine(this);
+        }
+        return suggestionEngine;
+    }
+
+    /**
+     * Rejects moves outside the board and on locked cells.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number of the move
+     * @return the rejection, or null if the move can be checked against the rules
+     */
+    private MoveResult checkMove(int row, int col, int value) {
+        int size = board.getGeometry().getSize();
+        if (row < 0 || col < 0 || row >= size || col >= size || value < 0 || value > size) {
+            return MoveResult.INVALID_VALUE;
+        }
+        if (board.isCellLocked(row, col)) {
+            return MoveResult.LOCKED;
+        }
+        return null;
+    }
+
+    /**
+     * Records a single-cell change in the history, unless it leaves the cell as it was.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the value about to be written
+     * @param flags {@link MoveHistory#HINT} for hints, otherwise 0
+     */
+    private void record(int row, int col, int value, long flags) {
+        int old = getValue(row, col);
+        if (old != value) {
+            int cell = row * board.getGeometry().getSize() + col;
+            history.record(MoveHistory.pack(cell, old, value, flags));
+        }
+    }
+
+    /**
+     * Records an applied batch as a single undo step. The value each move replaced
+     * is the one left by the last earlier move on the same cell, or the value the
+     * cell had before the batch.
+     *
+     * @param moves the (row, col, value) triples of the batch
+     * @param count the number of moves
+     */
+    private void recordBatch(int[] moves, int count) {
+        int size = board.getGeometry().getSize();
+        long flags = 0L;
+        for (int i = 0; i < count; i++) {
+            int cell = moves[3 * i] * size + moves[3 * i + 1];
+            int value = moves[3 * i + 2];
+            int old = batchValues[i];
+            for (int j = i - 1; j >= 0; j--) {
+                if (moves[3 * j] * size + moves[3 * j + 1] == cell) {
+                    old = moves[3 * j + 2];
+                    break;
+                }
+            }
+            if (old != value) {
+                history.record(MoveHistory.pack(cell, old, value, flags));
+                flags = MoveHistory.CONTINUES;
+            }
+        }
+    }
+
+    /**
+     * Writes a value and keeps the hint caches in sync.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the value to write
+     */
+    private void write(int row, int col, int value) {
+        board.getBoard().get(row).set(col, value);
+        if (suggestionEngine != null) {
+            suggestionEngine.onCellChanged(row, col);
+        }
+    }
+
+    /**
+     * Tells every listener about a move.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number of the move
+     * @param result what the engine did with it
+     */
+    private void notifyListeners(int row, int col, int value, MoveResult result) {
+        for (IGameListener listener : listeners) {
+            listener.onMove(row, col, value, result);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demosudoku.model.engine;
+
+/**
+ * Receives the outcome of every move handled by a {@link GameEngine},
+ * including rejected ones, so a view can mirror the board without polling it.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public interface IGameListener {
+
+    /**
+     * Called after a move has been handled.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number of the move (0 when clearing)
+     * @param result what the engine did with the move
+     */
+    void onMove(int row, int col, int value, MoveResult result);
+}
@@ -0,0 +1,154 @@
+package com.example.demosudoku.model.engine;
+
+import java.util.Arrays;
+
+/**
+ * Undo/redo history stored as packed long deltas.
+ * Each change of a cell is one long holding the cell index, the old and new
+ * values and two flags, so a move costs 8 bytes and no objects. Undo and redo
+ * only move a cursor over the array; recording after an undo drops the redo tail.
+ * <p>
+ * Layout of an entry: bits 0-15 cell, 16-23 old value, 24-31 new value,
+ * bit 32 set when the change came from a hint (the cell was locked), and
+ * bit 33 set when the entry belongs to the same move as the previous one
+ * (the rest of a batch).
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+final class MoveHistory {
+
+    /**
+     * Flag of a change made by a hint.
+     */
+    static final long HINT = 1L << 32;
+
+    /**
+     * Flag of a change that continues the previous move.
+     */
+    static final long CONTINUES = 1L << 33;
+
+    /**
+     * Packed entries; only the first {@link #size} are meaningful.
+     */
+    private long[] entries = new long[16];
+
+    /**
+     * Number of entries that are applied on the board.
+     */
+    private int cursor;
+
+    /**
+     * Number of entries recorded, including undone ones that can be redone.
+     */
+    private int size;
+
+    /**
+     * Packs a change.
+     *
+     * @param cell the row-major cell index
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     * @param flags {@link #HINT} and/or {@link #CONTINUES}
+     * @return the entry
+     */
+    static long pack(int cell, int oldValue, int newValue, long flags) {
+        return cell | (long) oldValue << 16 | (long) newValue << 24 | flags;
+    }
+
+    /**
+     * Gets the cell of an entry.
+     *
+     * @param entry the entry
+     * @return the row-major cell index
+     */
+    static int cell(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    /**
+     * Gets the value before the change.
+     *
+     * @param entry the entry
+     * @return the old value
+     */
+    static int oldValue(long entry) {
+        return (int) (entry >>> 16) & 0xFF;
+    }
+
+    /**
+     * Gets the value after the change.
+     *
+     * @param entry the entry
+     * @return the new value
+     */
+    static int newValue(long entry) {
+        return (int) (entry >>> 24) & 0xFF;
+    }
+
+    /**
+     * Records a change made after the current position, dropping anything that could be redone.
+     *
+     * @param entry the packed change
+     */
+    void record(long entry) {
+        if (cursor == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[cursor++] = entry;
+        size = cursor;
+    }
+
+    /**
+     * Checks whether there is a move to undo.
+     *
+     * @return true if the cursor is not at the start
+     */
+    boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * Checks whether there is a move to redo.
+     *
+     * @return true if undone entries remain
+     */
+    boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Steps back over one entry.
+     *
+     * @return the entry to revert
+     */
+    long undo() {
+        return entries[--cursor];
+    }
+
+    /**
+     * Steps forward over one entry.
+     *
+     * @return the entry to apply again
+     */
+    long redo() {
+        return entries[cursor++];
+    }
+
+    /**
+     * Checks whether the next entry to redo continues the move just redone.
+     *
+     * @return true if the next redo belongs to the same move
+     */
+    boolean redoContinues() {
+        return cursor < size && (entries[cursor] & CONTINUES) != 0;
+    }
+
+    /**
+     * Forgets every entry.
+     */
+    void clear() {
+        cursor = 0;
+        size = 0;
+    }
+}
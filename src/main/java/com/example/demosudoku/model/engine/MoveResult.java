@@ -0,0 +1,49 @@
+package com.example.demosudoku.model.engine;
+
+/**
+ * Outcome of a move applied through {@link GameEngine}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public enum MoveResult {
+
+    /**
+     * The number was written to the board.
+     */
+    PLACED,
+
+    /**
+     * The cell was emptied.
+     */
+    CLEARED,
+
+    /**
+     * The number was written by a hint and the cell was locked.
+     */
+    HINTED,
+
+    /**
+     * The number repeats in the row, column or block; the board was not changed.
+     */
+    CONFLICT,
+
+    /**
+     * The cell is part of the puzzle or was filled by a hint; the board was not changed.
+     */
+    LOCKED,
+
+    /**
+     * The position or number is outside the board; the board was not changed.
+     */
+    INVALID_VALUE;
+
+    /**
+     * Checks whether the move changed the board.
+     *
+     * @return true for {@link #PLACED}, {@link #CLEARED} and {@link #HINTED}
+     */
+    public boolean isAccepted() {
+        return this == PLACED || this == CLEARED || this == HINTED;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demosudoku.model.engine;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.IBoard;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.example.demosudoku.model.metrics.SuggestionEvent;
+
+import java.util.BitSet;
+
+/**
+ * Provides hint/suggestion functionality for a game.
+ * Can find safe suggestions and apply them to the board.
+ * <p>
+ * The engine caches the candidate bitmask of every cell and the set of empty
+ * cells. Whenever a cell changes, only that cell and its peers are refreshed,
+ * so hints and candidate queries never rescan the board. Most hints are naked
+ * singles, which are read straight from the cache; the logical solver only
+ * runs when no empty cell is down to one candidate.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class SuggestionEngine {
+
+    /**
+     * The game whose board is being suggested on.
+     */
+    private final GameEngine game;
+
+    /**
+     * The board of the game.
+     */
+    private final IBoard board;
+
+    /**
+     * Candidate bitmask of every cell, row-major (bit {@code d} set when digit {@code d} is allowed).
+     */
+    private final int[] candidates;
+
+    /**
+     * Bitset of empty cells, row-major.
+     */
+    private final BitSet emptyCells;
+
+    /**
+     * Builds the caches from the current board state.
+     *
+     * @param game the game that owns this engine
+     */
+    SuggestionEngine(GameEngine game) {
+        this.game = game;
+        this.board = game.getBoard();
+        int cells = board.getGeometry().getCells();
+        candidates = new int[cells];
+        emptyCells = new BitSet(cells);
+        for (int cell = 0; cell < cells; cell++) {
+            refreshCell(cell);
+        }
+    }
+
+    /**
+     * Updates the caches after a cell of the board has changed.
+     * Refreshes the cell itself and all of its peers.
+     *
+     * @param row the row index of the changed cell
+     * @param col the column index of the changed cell
+     */
+    public void onCellChanged(int row, int col) {
+        BoardGeometry geometry = board.getGeometry();
+        int cell = row * geometry.getSize() + col;
+        refreshCell(cell);
+        for (int peer : geometry.getPeers(cell)) {
+            refreshCell(peer);
+        }
+    }
+
+    /**
+     * Gets the cached candidates of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return a bitmask where bit {@code d} is set when digit {@code d} is allowed
+     */
+    public int getCandidates(int row, int col) {
+        return candidates[row * board.getGeometry().getSize() + col];
+    }
+
+    /**
+     * Finds a safe suggestion for the next move.
+     * Prefers the cell a human would fill next with the easiest technique: first a
+     * naked single from the cached candidates, then a placement of the logical
+     * solver. If neither is found (or the player has made a mistake), falls back
+     * to the first empty cell and the number the solution has there. Slow searches
+     * are reported to Flight Recorder as {@link SuggestionEvent}s.
+     *
+     * @return an array containing [row, column, suggested number], or null if no suggestion is available
+     */
+    public int[] getSafeSuggestion() {
+        SudokuMetrics.get().countHintRequest();
+        SuggestionEvent event = new SuggestionEvent();
+        event.begin();
+
+        int size = board.getGeometry().getSize();
+        int[] suggestion = nakedSingle(size);
+        boolean fromLogic = suggestion != null;
+        if (!fromLogic) {
+            int[] logical = board.getLogicalHint();
+            fromLogic = logical != null && board.getSuggestion(logical[0], logical[1]) == logical[2];
+            if (fromLogic) {
+                suggestion = new int[]{logical[0], logical[1], logical[2]};
+            }
+        }
+        if (suggestion == null) {
+            for (int cell = emptyCells.nextSetBit(0); cell >= 0 && suggestion == null; cell = emptyCells.nextSetBit(cell + 1)) {
+                int r = cell / size;
+                int c = cell % size;
+                int value = board.getSuggestion(r, c);
+                if (value != 0) {
+                    suggestion = new int[]{r, c, value};
+                }
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.found = suggestion != null;
+            event.logical = fromLogic;
+            event.commit();
+        }
+        return suggestion;
+    }
+
+    /**
+     * Finds the first empty cell whose cached candidates leave a single digit,
+     * when that digit is the one the solution has there.
+     *
+     * @param size the side of the board
+     * @return [row, column, value], or null if there is no such cell
+     */
+    private int[] nakedSingle(int size) {
+        for (int cell = emptyCells.nextSetBit(0); cell >= 0; cell = emptyCells.nextSetBit(cell + 1)) {
+            int mask = candidates[cell];
+            if (Integer.bitCount(mask) != 1) continue;
+
+            int r = cell / size;
+            int c = cell % size;
+            int value = Integer.numberOfTrailingZeros(mask);
+            if (board.getSuggestion(r, c) == value) {
+                return new int[]{r, c, value};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies a suggestion to the board by filling in the suggested cell and locking it.
+     * Listeners of the game are notified with {@link MoveResult#HINTED}.
+     *
+     * @param suggestion an array containing [row, column, number to place]
+     * @return true if the suggestion was successfully applied, false otherwise
+     */
+    public boolean applySuggestionToBoard(int[] suggestion) {
+        if (suggestion == null || suggestion.length < 3) return false;
+        return game.applyHint(suggestion[0], suggestion[1], suggestion[2]) == MoveResult.HINTED;
+    }
+
+    /**
+     * Recomputes the cached state of one cell from the board.
+     *
+     * @param cell the row-major cell index
+     */
+    private void refreshCell(int cell) {
+        int size = board.getGeometry().getSize();
+        int r = cell / size;
+        int c = cell % size;
+        boolean empty = board.getBoard().get(r).get(c) == 0;
+        emptyCells.set(cell, empty);
+        candidates[cell] = empty ? board.getCandidates(r, c) : 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demosudoku.model.game;
+
+/**
+ * Visual states of a board cell. Each state maps to a style class defined in
+ * {@code Css/Styles.css}, so changing a cell's look only swaps a class instead
+ * of parsing a new inline style.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+enum CellStyle {
+
+    /**
+     * Empty editable cell.
+     */
+    EMPTY(null),
+
+    /**
+     * Number that was part of the puzzle.
+     */
+    GIVEN("given"),
+
+    /**
+     * Number typed by the player that fits the board.
+     */
+    VALID("valid"),
+
+    /**
+     * Number typed by the player that breaks a rule, or text that is not a digit.
+     */
+    INVALID("invalid"),
+
+    /**
+     * Number placed by a hint.
+     */
+    HINTED("hinted");
+
+    /**
+     * Style class shared by every board cell.
+     */
+    static final String BASE_CLASS = "sudoku-cell";
+
+    /**
+     * The style class of this state, or null for none.
+     */
+    private final String styleClass;
+
+    /**
+     * Creates a state.
+     *
+     * @param styleClass the style class of the state, or null for none
+     */
+    CellStyle(String styleClass) {
+        this.styleClass = styleClass;
+    }
+
+    /**
+     * Gets the style class of this state.
+     *
+     * @return the style class, or null if the state only uses the base class
+     */
+    String getStyleClass() {
+        return styleClass;
+    }
+}
@@ -1,31 +1,95 @@
 package com.example.demosudoku.model.game;
 
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.MoveResult;
+import com.example.demosudoku.model.engine.SuggestionEngine;
+import com.example.demosudoku.model.metrics.MoveValidationEvent;
+import javafx.application.Platform;
+import javafx.geometry.HPos;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
+import javafx.geometry.VPos;
 import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Background;
+import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
-import java.util.ArrayList;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+import java.util.BitSet;
 import java.util.List;
 
 /**
- * Main game logic class for the Sudoku game.
- * Handles the game board UI, user input validation, and game state management.
- * This class extends GameAbstract and provides concrete implementations
- * for starting the game, validating moves, and checking for completion.
+ * JavaFX view of a Sudoku game.
+ * Builds the board UI, turns keystrokes into moves for the
+ * {@link com.example.demosudoku.model.engine.GameEngine}, and mirrors the
+ * results the engine reports; the rules themselves live in the engine.
+ * <p>
+ * Cells are kept in an array indexed by {@code row * size + col}, so looking
+ * one up never scans the GridPane. Their look is driven by the style classes
+ * of {@link CellStyle}; style changes are queued and applied together once per
+ * pass of the FX event loop, so a burst of edits touches each cell only once.
  *
  * @author Juan Marmolejo  William May
  * @version 1.0
  */
 public class Game extends GameAbstract {
 
+    /**
+     * Text field of every cell, indexed by {@code row * size + col}.
+     */
+    private TextField[] cells = new TextField[0];
+
+    /**
+     * Style currently applied to every cell.
+     */
+    private CellStyle[] appliedStyles = new CellStyle[0];
+
+    /**
+     * Style each cell should have after the next flush.
+     */
+    private CellStyle[] pendingStyles = new CellStyle[0];
+
+    /**
+     * Cells whose pending style differs from the applied one.
+     */
+    private final BitSet dirtyStyles = new BitSet();
+
+    /**
+     * Whether a flush is already queued on the FX thread.
+     */
+    private boolean flushScheduled;
+
     /**
      * Constructs a new Game instance with the specified GridPane.
      *
      * @param boardGridpane the GridPane that will contain the Sudoku board cells
      */
     public Game(GridPane boardGridpane) {
-        super(boardGridpane);
+        this(boardGridpane, BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a new Game instance with the specified GridPane and board geometry.
+     *
+     * @param boardGridpane the GridPane that will contain the Sudoku board cells
+     * @param geometry the shape of the board to play on
+     */
+    public Game(GridPane boardGridpane, BoardGeometry geometry) {
+        this(boardGridpane, new GameEngine(geometry));
+    }
+
+    /**
+     * Constructs a new Game instance that presents an existing engine, for
+     * example one restored from a saved game.
+     *
+     * @param boardGridpane the GridPane that will contain the Sudoku board cells
+     * @param engine the engine to present
+     */
+    public Game(GridPane boardGridpane, GameEngine engine) {
+        super(boardGridpane, engine);
+        engine.addListener(this::onMove);
     }
 
     /**
@@ -35,77 +99,156 @@ public class Game extends GameAbstract {
      */
     @Override
     public void startGame() {
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
+        int size = board.getGeometry().getSize();
+        configureGrid(size);
+        cells = new TextField[size * size];
+        appliedStyles = new CellStyle[size * size];
+        pendingStyles = new CellStyle[size * size];
+        dirtyStyles.clear();
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 int number = board.getBoard().get(i).get(j);
                 TextField cell = new TextField();
                 cell.setBackground(Background.EMPTY);
                 cell.setAlignment(Pos.CENTER);
+                cell.getStyleClass().add(CellStyle.BASE_CLASS);
 
-                if (number != 0) {
+                CellStyle style;
+                if (engine.isGiven(i, j)) {
+                    cell.setText(String.valueOf(number));
+                    cell.setEditable(false);
+                    style = CellStyle.GIVEN;
+                } else if (engine.isLocked(i, j)) {
+                    // Pista de una partida reanudada
                     cell.setText(String.valueOf(number));
                     cell.setEditable(false);
-                    // Fondo transparente en lugar de blanco
-                    cell.setStyle("-fx-text-fill: #2c3e50; -fx-font-weight: bold; -fx-background-color: transparent;");
-                    board.lockCell(i, j);
+                    style = CellStyle.HINTED;
+                } else if (number != 0) {
+                    // Jugada del usuario en una partida reanudada
+                    cell.setText(String.valueOf(number));
+                    cell.setEditable(true);
+                    style = CellStyle.VALID;
                 } else {
                     cell.setText("");
                     cell.setEditable(true);
-                    cell.setStyle("-fx-background-color: transparent;"); // Fondo transparente también en celdas vacías
+                    style = CellStyle.EMPTY;
                 }
+                // Estilo inicial aplicado directamente: la celda aún no está en escena
+                int index = i * size + j;
+                cells[index] = cell;
+                appliedStyles[index] = CellStyle.EMPTY;
+                pendingStyles[index] = style;
+                applyStyle(index);
 
                 handleNumberField(cell, i, j);
                 boardGridpane.add(cell, j, i);
                 numberFields.add(cell);
             }
         }
-        board.unlockEmptyCells();
+    }
+
+    /**
+     * Makes sure the GridPane has exactly one row and one column constraint per board row.
+     * The FXML layout is designed for 6x6; other geometries replace its constraints.
+     *
+     * @param size the side of the board
+     */
+    private void configureGrid(int size) {
+        if (boardGridpane.getColumnConstraints().size() == size
+                && boardGridpane.getRowConstraints().size() == size) {
+            return;
+        }
+
+        boardGridpane.getColumnConstraints().clear();
+        boardGridpane.getRowConstraints().clear();
+        for (int i = 0; i < size; i++) {
+            ColumnConstraints column = new ColumnConstraints();
+            column.setHalignment(HPos.CENTER);
+            column.setHgrow(Priority.SOMETIMES);
+            column.setPercentWidth(100.0 / size);
+            boardGridpane.getColumnConstraints().add(column);
+
+            RowConstraints row = new RowConstraints();
+            row.setValignment(VPos.CENTER);
+            row.setVgrow(Priority.SOMETIMES);
+            row.setPercentHeight(100.0 / size);
+            boardGridpane.getRowConstraints().add(row);
+        }
     }
 
     /**
      * Configures the event handler for a TextField cell.
-     * Validates user input, updates the board model, and applies appropriate styling
-     * based on whether the input is valid or invalid.
+     * Parses user input and hands it to the engine, and maps Ctrl+Z and Ctrl+Y to
+     * undo and redo; styling follows from the move result reported to
+     * {@link #onMove(int, int, int, MoveResult)}. Keystrokes that take long to
+     * handle are reported to Flight Recorder as {@link MoveValidationEvent}s.
      *
      * @param txt the TextField to configure
      * @param row the row index of the cell
      * @param col the column index of the cell
      */
     private void handleNumberField(TextField txt, int row, int col) {
+        // Ctrl+Z deshace y Ctrl+Y rehace la última jugada en el motor, no solo en el texto de la celda
+        txt.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.isShortcutDown() && (event.getCode() == KeyCode.Z || event.getCode() == KeyCode.Y)) {
+                if (event.getCode() == KeyCode.Z) {
+                    engine.undo();
+                } else {
+                    engine.redo();
+                }
+                event.consume();
+            }
+        });
         txt.setOnKeyReleased(event -> {
+            if (event.isShortcutDown()) return;
+            MoveValidationEvent validation = new MoveValidationEvent();
+            validation.begin();
             String input = txt.getText().trim();
 
+            int number = 0;
+            String result;
             if (!input.isEmpty()) {
-                if (!input.matches("[1-6]")) {
+                number = parseCellValue(input);
+                if (number == 0) {
                     txt.setText("");
-                    txt.setStyle("-fx-text-fill: red; -fx-border-color: red; -fx-border-width: 2px;");
-                    return;
-                }
-
-                int number = Integer.parseInt(input);
-                boolean valid = board.isValid(row, col, number);
-
-                if (valid) {
-                    // Actualizar el modelo con el número válido
-                    board.getBoard().get(row).set(col, number);
-                    txt.setStyle("-fx-text-fill: #27ae60; -fx-border-color: #27ae60; -fx-border-width: 1px; -fx-background-color: transparent;");
+                    requestStyle(row, col, CellStyle.INVALID);
+                    result = "INVALID_INPUT";
                 } else {
-                    // Número inválido - mostrar error
-                    txt.setStyle("-fx-text-fill: #e74c3c; -fx-border-color: #e74c3c; -fx-border-width: 2px; -fx-background-color: transparent;");
-
-                    // Mostrar alerta de conflicto
-                    javafx.application.Platform.runLater(() -> {
-                        System.out.println("Número " + number + " no válido en posición [" + row + "," + col + "]");
-                    });
+                    // El motor valida la jugada y avisa a onMove con el resultado
+                    result = engine.applyMove(row, col, number).name();
                 }
             } else {
                 // Celda vacía - resetear estilo y modelo
-                board.getBoard().get(row).set(col, 0);
-                txt.setStyle("-fx-background-color: transparent;");
+                result = engine.applyMove(row, col, 0).name();
+            }
+
+            validation.end();
+            if (validation.shouldCommit()) {
+                validation.row = row;
+                validation.col = col;
+                validation.value = number;
+                validation.result = result;
+                validation.commit();
             }
         });
     }
 
+    /**
+     * Parses the text typed in a cell into a digit for the current geometry.
+     *
+     * @param input the trimmed cell text
+     * @return the digit (1..size), or 0 if the text is not a valid digit
+     */
+    private int parseCellValue(String input) {
+        if (input.length() > 2) return 0;
+        for (int i = 0; i < input.length(); i++) {
+            if (!Character.isDigit(input.charAt(i))) return 0;
+        }
+        int number = Integer.parseInt(input);
+        return number >= 1 && number <= board.getGeometry().getSize() ? number : 0;
+    }
+
     /**
      * Retrieves the TextField at a specific row and column position.
      *
@@ -115,177 +258,127 @@ public class Game extends GameAbstract {
      */
     @Override
     public TextField getTextFieldAt(int row, int col) {
-        for (Node node : boardGridpane.getChildren()) {
-            if (node instanceof TextField) {
-                Integer r = GridPane.getRowIndex(node);
-                Integer c = GridPane.getColumnIndex(node);
-                if (r == null) r = 0;
-                if (c == null) c = 0;
-                if (r == row && c == col) return (TextField) node;
-            }
-        }
-        return null;
+        int size = board.getGeometry().getSize();
+        if (row < 0 || col < 0 || row >= size || col >= size || cells.length == 0) return null;
+        return cells[row * size + col];
     }
 
     /**
-     * Checks if the board is completely filled and valid.
-     * Verifies that all cells are filled and that the board follows Sudoku rules.
+     * Queues a style change for a cell. All changes requested while handling the
+     * current events are applied together in a single task on the FX thread, and
+     * only the last style requested for each cell is applied.
      *
-     * @return true if the board is complete and valid, false otherwise
+     * @param row the row index
+     * @param col the column index
+     * @param style the new style
      */
-    @Override
-    public boolean isBoardComplete() {
-        try {
-            boolean hasEmptyCells = false;
-            for (int row = 0; row < 6; row++) {
-                for (int col = 0; col < 6; col++) {
-                    if (board.getBoard().get(row).get(col) == 0) {
-                        hasEmptyCells = true;
-                        break;
-                    }
-                }
-                if (hasEmptyCells) break;
-            }
-
-            if (hasEmptyCells) {
-                System.out.println("Tablero incompleto: hay celdas vacías");
-                return false;
-            }
-
-            boolean isValid = isValidCompleteBoard();
-            System.out.println("Tablero completo. ¿Es válido? " + isValid);
-            return isValid;
+    void requestStyle(int row, int col, CellStyle style) {
+        int index = row * board.getGeometry().getSize() + col;
+        pendingStyles[index] = style;
+        dirtyStyles.set(index, style != appliedStyles[index]);
+        if (!flushScheduled && !dirtyStyles.isEmpty()) {
+            flushScheduled = true;
+            Platform.runLater(this::flushStyles);
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error en isBoardComplete: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+    /**
+     * Applies every queued style change.
+     */
+    private void flushStyles() {
+        flushScheduled = false;
+        for (int index = dirtyStyles.nextSetBit(0); index >= 0; index = dirtyStyles.nextSetBit(index + 1)) {
+            applyStyle(index);
         }
+        dirtyStyles.clear();
     }
 
     /**
-     * Validates the complete board by checking all Sudoku constraints.
-     * Verifies that no number is repeated in any row, column, or 2x3 block.
+     * Swaps the state class of a cell for its pending one.
      *
-     * @return true if the completed board is valid, false otherwise
+     * @param index the row-major cell index
      */
-    private boolean isValidCompleteBoard() {
-        try {
-            for (int row = 0; row < 6; row++) {
-                for (int col = 0; col < 6; col++) {
-                    int num = board.getBoard().get(row).get(col);
-
-                    for (int c = 0; c < 6; c++) {
-                        if (c != col && board.getBoard().get(row).get(c) == num) {
-                            System.out.println("Error en fila " + row + ": número " + num + " repetido");
-                            return false;
-                        }
-                    }
-
-                    for (int r = 0; r < 6; r++) {
-                        if (r != row && board.getBoard().get(r).get(col) == num) {
-                            System.out.println("Error en columna " + col + ": número " + num + " repetido");
-                            return false;
-                        }
-                    }
-
-                    int startRow = (row / 2) * 2;
-                    int startCol = (col / 3) * 3;
-                    for (int r = startRow; r < startRow + 2; r++) {
-                        for (int c = startCol; c < startCol + 3; c++) {
-                            if ((r != row || c != col) && board.getBoard().get(r).get(c) == num) {
-                                System.out.println("Error en bloque [" + startRow + "," + startCol + "]: número " + num + " repetido");
-                                return false;
-                            }
-                        }
-                    }
-                }
-            }
-            System.out.println("¡Tablero válido y completo!");
-            return true;
+    private void applyStyle(int index) {
+        List<String> classes = cells[index].getStyleClass();
+        String old = appliedStyles[index].getStyleClass();
+        String next = pendingStyles[index].getStyleClass();
+        if (old != null) classes.remove(old);
+        if (next != null) classes.add(next);
+        appliedStyles[index] = pendingStyles[index];
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error en isValidCompleteBoard: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+    /**
+     * Checks if the board is completely filled and valid.
+     * The board keeps filled-cell and conflict counters up to date on every
+     * write, so this is a constant-time check with no scan of the grid.
+     *
+     * @return true if the board is complete and valid, false otherwise
+     */
+    @Override
+    public boolean isBoardComplete() {
+        return engine.isComplete();
     }
 
     /**
      * Gets the SuggestionEngine for this game instance.
+     * The engine is created once and kept in sync with every board change.
      *
-     * @return a new SuggestionEngine instance
+     * @return the long-lived SuggestionEngine instance
      */
+    @Override
     public SuggestionEngine getSuggestionEngine() {
-        return new SuggestionEngine();
+        return engine.getSuggestionEngine();
     }
 
     /**
-     * Inner class that provides hint/suggestion functionality for the game.
-     * Can find safe suggestions and apply them to the board.
+     * Mirrors a move handled by the engine on its cell: accepted moves write their
+     * value in the text field (undo and redo change cells the player did not type
+     * in), hints also lock it, and every result maps to a cell style.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number of the move
+     * @param result what the engine did with the move
      */
-    public class SuggestionEngine {
-
-        /**
-         * Finds a safe suggestion for the next move.
-         * Searches for an empty cell and returns a valid number that can be placed there.
-         *
-         * @return an array containing [row, column, suggested number], or null if no suggestion is available
-         */
-        public int[] getSafeSuggestion() {
-            for (int r = 0; r < 6; r++) {
-                for (int c = 0; c < 6; c++) {
-                    if (board.getBoard().get(r).get(c) == 0) {
-                        int suggestion = board.getSuggestion(r, c);
-                        if (suggestion != 0) {
-                            return new int[]{r, c, suggestion};
-                        }
-                    }
-                }
-            }
-            return null;
-        }
+    private void onMove(int row, int col, int value, MoveResult result) {
+        TextField txt = getTextFieldAt(row, col);
+        if (txt == null) return;
 
-        /**
-         * Gets all possible valid numbers for a specific cell.
-         *
-         * @param row the row index
-         * @param col the column index
-         * @return a list of valid numbers that can be placed at this position
-         */
-        private List<Integer> getPossibleNumbers(int row, int col) {
-            List<Integer> list = new ArrayList<>();
-            for (int n = 1; n <= 6; n++) {
-                if (board.isValid(row, col, n)) list.add(n);
-            }
-            return list;
+        switch (result) {
+            case PLACED:
+                showValue(txt, value);
+                requestStyle(row, col, CellStyle.VALID);
+                break;
+            case CLEARED:
+                showValue(txt, 0);
+                requestStyle(row, col, CellStyle.EMPTY);
+                break;
+            case HINTED:
+                txt.setText(String.valueOf(value));
+                txt.setEditable(false);
+                requestStyle(row, col, CellStyle.HINTED);
+                break;
+            case CONFLICT:
+            case INVALID_VALUE:
+                requestStyle(row, col, CellStyle.INVALID);
+                break;
+            default:
+                break;
         }
+    }
 
-        /**
-         * Applies a suggestion to the board by filling in the suggested cell.
-         * Updates both the model and the UI, locks the cell, and applies styling.
-         *
-         * @param suggestion an array containing [row, column, number to place]
-         * @return true if the suggestion was successfully applied, false otherwise
-         */
-        public boolean applySuggestionToBoard(int[] suggestion) {
-            if (suggestion == null || suggestion.length < 3) return false;
-            int r = suggestion[0];
-            int c = suggestion[1];
-            int num = suggestion[2];
-
-            if (!board.isValid(r, c, num)) return false;
-
-            board.getBoard().get(r).set(c, num);
-
-            TextField txt = getTextFieldAt(r, c);
-            if (txt != null) {
-                txt.setText(String.valueOf(num));
-                txt.setStyle("-fx-text-fill: #2980b9; -fx-font-weight: bold; -fx-background-color: transparent;");
-                txt.setEditable(false);
-                board.lockCell(r, c);
-            }
-            return true;
+    /**
+     * Shows a value in an editable cell, leaving the text alone if it already matches
+     * so the caret of the cell being typed in does not jump.
+     *
+     * @param txt the cell
+     * @param value the value to show, or 0 for an empty cell
+     */
+    private void showValue(TextField txt, int value) {
+        String text = value == 0 ? "" : String.valueOf(value);
+        if (!text.equals(txt.getText().trim())) {
+            txt.setText(text);
         }
+        txt.setEditable(true);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.example.demosudoku.model.game;
 
-import com.example.demosudoku.model.board.BoardAdapter;
+import com.example.demosudoku.model.board.BoardGeometry;
 import com.example.demosudoku.model.board.IBoard;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.SuggestionEngine;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import java.util.ArrayList;
@@ -10,6 +12,7 @@ import java.util.ArrayList;
  * Abstract base class for game implementations.
  * Provides common fields and default implementations for the IGame interface.
  * Concrete game classes should extend this class and override methods as needed.
+ * The rules live in a {@link GameEngine}; subclasses only present it.
  *
  * @author Juan Marmolejo  William May
  * @version 1.0
@@ -22,7 +25,12 @@ public abstract class GameAbstract implements IGame {
     protected GridPane boardGridpane;
 
     /**
-     * The board model that handles game logic.
+     * The JavaFX-free engine that applies the rules.
+     */
+    protected GameEngine engine;
+
+    /**
+     * The board model that handles game logic (owned by the engine).
      */
     protected IBoard board;
 
@@ -32,14 +40,36 @@ public abstract class GameAbstract implements IGame {
     protected ArrayList<TextField> numberFields;
 
     /**
-     * Constructs a GameAbstract with the specified GridPane.
+     * Constructs a GameAbstract with the specified GridPane and a 6x6 board.
      * Initializes the board adapter and numberFields list.
      *
      * @param boardGridpane the GridPane that will contain the game board
      */
     public GameAbstract(GridPane boardGridpane) {
+        this(boardGridpane, BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a GameAbstract with the specified GridPane and board geometry.
+     * Initializes the game engine, its board and the numberFields list.
+     *
+     * @param boardGridpane the GridPane that will contain the game board
+     * @param geometry the shape of the board to play on
+     */
+    public GameAbstract(GridPane boardGridpane, BoardGeometry geometry) {
+        this(boardGridpane, new GameEngine(geometry));
+    }
+
+    /**
+     * Constructs a GameAbstract that presents an existing engine.
+     *
+     * @param boardGridpane the GridPane that will contain the game board
+     * @param engine the engine that applies the rules
+     */
+    public GameAbstract(GridPane boardGridpane, GameEngine engine) {
         this.boardGridpane = boardGridpane;
-        this.board = new BoardAdapter();
+        this.engine = engine;
+        this.board = engine.getBoard();
         this.numberFields = new ArrayList<>();
     }
 
@@ -70,7 +100,7 @@ public abstract class GameAbstract implements IGame {
      * @return null in this default implementation
      */
     @Override
-    public Game.SuggestionEngine getSuggestionEngine() {
+    public SuggestionEngine getSuggestionEngine() {
         return null;
     }
 
@@ -84,4 +114,24 @@ public abstract class GameAbstract implements IGame {
     public boolean isBoardComplete() {
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the action to run the moment the player completes the board.
+     *
+     * @param listener the action to run, or null to remove it
+     */
+    @Override
+    public void setOnBoardCompleted(Runnable listener) {
+        engine.setOnCompleted(listener);
+    }
+
+    /**
+     * Gets the engine that applies the rules of this game.
+     *
+     * @return the game engine
+     */
+    @Override
+    public GameEngine getEngine() {
+        return engine;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.demosudoku.model.game;
 
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.SuggestionEngine;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 
@@ -28,6 +31,16 @@ public class GameAdapter implements IGame {
         this.game = new Game(boardGridpane);
     }
 
+    /**
+     * Constructs a new GameAdapter with a new Game instance of the given geometry.
+     *
+     * @param boardGridpane the GridPane that will contain the game board
+     * @param geometry the shape of the board to play on
+     */
+    public GameAdapter(GridPane boardGridpane, BoardGeometry geometry) {
+        this.game = new Game(boardGridpane, geometry);
+    }
+
     /**
      * Starts the game.
      */
@@ -54,7 +67,7 @@ public class GameAdapter implements IGame {
      * @return the SuggestionEngine instance
      */
     @Override
-    public Game.SuggestionEngine getSuggestionEngine() {
+    public SuggestionEngine getSuggestionEngine() {
         return game.getSuggestionEngine();
     }
 
@@ -67,4 +80,24 @@ public class GameAdapter implements IGame {
     public boolean isBoardComplete() {
         return game.isBoardComplete();
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the action to run the moment the player completes the board.
+     *
+     * @param listener the action to run, or null to remove it
+     */
+    @Override
+    public void setOnBoardCompleted(Runnable listener) {
+        game.setOnBoardCompleted(listener);
+    }
+
+    /**
+     * Gets the engine that applies the rules of this game.
+     *
+     * @return the game engine
+     */
+    @Override
+    public GameEngine getEngine() {
+        return game.getEngine();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demosudoku.model.game;
 
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.SuggestionEngine;
 import javafx.scene.control.TextField;
 
 /**
@@ -31,7 +33,7 @@ public interface IGame {
      *
      * @return the SuggestionEngine instance
      */
-    Game.SuggestionEngine getSuggestionEngine();
+    SuggestionEngine getSuggestionEngine();
 
     /**
      * Checks if the board is completely filled and valid.
@@ -39,4 +41,18 @@ public interface IGame {
      * @return true if the board is complete and valid, false otherwise
      */
     boolean isBoardComplete();
+
+    /**
+     * Sets the action to run the moment the player completes the board.
+     *
+     * @param listener the action to run, or null to remove it
+     */
+    void setOnBoardCompleted(Runnable listener);
+
+    /**
+     * Gets the JavaFX-free engine that applies the rules of this game.
+     *
+     * @return the game engine
+     */
+    GameEngine getEngine();
 }
\ No newline at end of file
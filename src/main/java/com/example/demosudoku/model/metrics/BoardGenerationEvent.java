@@ -0,0 +1,50 @@
+package com.example.demosudoku.model.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the generation of a new puzzle by a board: filling
+ * the solution and removing numbers while the solution stays unique.
+ * Recorded only when it takes at least the threshold (1 ms by default).
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@Name("com.example.demosudoku.BoardGeneration")
+@Label("Board Generation")
+@Category({"Sudoku", "Generation"})
+@Description("A board generated a new puzzle from a seed")
+@Threshold("1 ms")
+@StackTrace(false)
+public class BoardGenerationEvent extends Event {
+
+    /**
+     * Side of the board.
+     */
+    @Label("Size")
+    public int size;
+
+    /**
+     * Seed the puzzle was generated from.
+     */
+    @Label("Seed")
+    public long seed;
+
+    /**
+     * Cells the generator tried to remove.
+     */
+    @Label("Attempts")
+    public int attempts;
+
+    /**
+     * Cells removed from the solution.
+     */
+    @Label("Removed")
+    public int removed;
+}
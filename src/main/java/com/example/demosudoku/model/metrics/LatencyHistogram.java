@@ -0,0 +1,175 @@
+package com.example.demosudoku.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ * Values are counted in log-linear buckets: every power of two is split into
+ * 16 sub-buckets, so any reported percentile is within about 6% of the real
+ * value while the whole range up to hours fits in under a thousand counters.
+ * Recording is a couple of atomic increments and never allocates, so it can
+ * be called from every generator and request thread.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bits used to split each power of two into sub-buckets.
+     */
+    private static final int SUB_BITS = 4;
+
+    /**
+     * Number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Total number of buckets, enough for any positive long.
+     */
+    private static final int BUCKETS = (63 - SUB_BITS) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    /**
+     * Number of values recorded in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Number of values recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of all recorded values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Largest value recorded.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the sum of the recorded values.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket that contains it.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the estimated value in nanoseconds, never above the recorded maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears every counter.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Summarizes the histogram in milliseconds.
+     *
+     * @return count, mean, p50, p99, p99.9 and max
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d media=%.2fms p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                getCount(), getMean() / 1e6,
+                getValueAtPercentile(50) / 1e6, getValueAtPercentile(99) / 1e6,
+                getValueAtPercentile(99.9) / 1e6, getMax() / 1e6);
+    }
+
+    /**
+     * Finds the bucket of a value.
+     *
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return (exponent - SUB_BITS) * SUB_BUCKETS + (int) (value >>> (exponent - SUB_BITS));
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the inclusive upper bound
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long upper = ((mantissa + 1) << (exponent - SUB_BITS)) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper; // El último cubo llega hasta Long.MAX_VALUE
+    }
+}
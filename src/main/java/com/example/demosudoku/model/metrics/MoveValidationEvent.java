@@ -0,0 +1,51 @@
+package com.example.demosudoku.model.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the handling of one keystroke in a board cell:
+ * parsing the input and validating the move. Recorded only when it takes at
+ * least the threshold (1 ms by default), so only the keystrokes that could
+ * cause a visible stall show up.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@Name("com.example.demosudoku.MoveValidation")
+@Label("Move Validation")
+@Category({"Sudoku", "Game"})
+@Description("A keystroke in a cell was parsed and validated")
+@Threshold("1 ms")
+@StackTrace(false)
+public class MoveValidationEvent extends Event {
+
+    /**
+     * Row of the cell.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * Column of the cell.
+     */
+    @Label("Column")
+    public int col;
+
+    /**
+     * Value typed, 0 when the cell was emptied or the input was not a digit.
+     */
+    @Label("Value")
+    public int value;
+
+    /**
+     * What the engine did with the move, or INVALID_INPUT if the text was rejected before it.
+     */
+    @Label("Result")
+    public String result;
+}
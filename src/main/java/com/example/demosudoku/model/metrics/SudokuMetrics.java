@@ -0,0 +1,329 @@
+package com.example.demosudoku.model.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and timers of the model: solution generation, number
+ * removal, solver search, hints, validation and victory checks. Recording is a
+ * {@link LongAdder} increment (or a {@link LatencyHistogram} record), so it is
+ * cheap and contention-free from any number of generator and game threads.
+ * <p>
+ * The instance registers itself on the platform MBean server as
+ * {@value #OBJECT_NAME} the first time it is used, and
+ * {@link #toPrometheus()} renders the same values in the Prometheus text
+ * exposition format for the {@code /metrics} endpoints.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class SudokuMetrics implements SudokuMetricsMXBean {
+
+    /**
+     * JMX name of the metrics bean.
+     */
+    public static final String OBJECT_NAME = "com.example.demosudoku:type=SudokuMetrics";
+
+    /**
+     * The process-wide instance.
+     */
+    private static final SudokuMetrics INSTANCE = new SudokuMetrics();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("No se pudieron registrar las métricas en JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Time to generate each complete solution.
+     */
+    private final LatencyHistogram solutionGeneration = new LatencyHistogram();
+
+    /**
+     * Cells the generators tried to remove.
+     */
+    private final LongAdder removalAttempts = new LongAdder();
+
+    /**
+     * Cells removed.
+     */
+    private final LongAdder removals = new LongAdder();
+
+    /**
+     * Solver searches run.
+     */
+    private final LongAdder solverCalls = new LongAdder();
+
+    /**
+     * Search nodes explored by the solvers.
+     */
+    private final LongAdder solverNodes = new LongAdder();
+
+    /**
+     * Hints requested.
+     */
+    private final LongAdder hintRequests = new LongAdder();
+
+    /**
+     * Moves validated.
+     */
+    private final LongAdder validationCalls = new LongAdder();
+
+    /**
+     * Completion checks.
+     */
+    private final LongAdder victoryChecks = new LongAdder();
+
+    /**
+     * Boards completed by players.
+     */
+    private final LongAdder victories = new LongAdder();
+
+    /**
+     * Singleton; use {@link #get()}.
+     */
+    private SudokuMetrics() {
+    }
+
+    /**
+     * Gets the process-wide metrics, registering them on JMX on first use.
+     *
+     * @return the metrics
+     */
+    public static SudokuMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records the time taken to generate a complete solution.
+     *
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void recordSolutionGeneration(long nanos) {
+        solutionGeneration.record(nanos);
+    }
+
+    /**
+     * Records the outcome of carving a puzzle.
+     *
+     * @param attempts the cells the generator tried to remove
+     * @param removed the cells actually removed
+     */
+    public void recordRemovals(int attempts, int removed) {
+        removalAttempts.add(attempts);
+        removals.add(removed);
+    }
+
+    /**
+     * Records one solver search.
+     *
+     * @param nodes the search nodes it explored
+     */
+    public void recordSolverCall(long nodes) {
+        solverCalls.increment();
+        solverNodes.add(nodes);
+    }
+
+    /**
+     * Counts a hint request.
+     */
+    public void countHintRequest() {
+        hintRequests.increment();
+    }
+
+    /**
+     * Counts a move validation.
+     */
+    public void countValidation() {
+        validationCalls.increment();
+    }
+
+    /**
+     * Counts a completion check.
+     */
+    public void countVictoryCheck() {
+        victoryChecks.increment();
+    }
+
+    /**
+     * Counts a board completed by a player.
+     */
+    public void countVictory() {
+        victories.increment();
+    }
+
+    /**
+     * Gets the number of complete solutions generated.
+     *
+     * @return the count of {@code generateCompleteSolution} calls
+     */
+    @Override
+    public long getSolutionsGenerated() {
+        return solutionGeneration.getCount();
+    }
+
+    /**
+     * Gets the mean time to generate a complete solution.
+     *
+     * @return the mean in milliseconds
+     */
+    @Override
+    public double getSolutionGenerationMeanMillis() {
+        return solutionGeneration.getMean() / 1e6;
+    }
+
+    /**
+     * Gets the 99th percentile of the time to generate a complete solution.
+     *
+     * @return the percentile in milliseconds
+     */
+    @Override
+    public double getSolutionGenerationP99Millis() {
+        return solutionGeneration.getValueAtPercentile(99) / 1e6;
+    }
+
+    /**
+     * Gets the number of cells the generators tried to remove.
+     *
+     * @return the removal attempts
+     */
+    @Override
+    public long getRemovalAttempts() {
+        return removalAttempts.sum();
+    }
+
+    /**
+     * Gets the number of cells removed while keeping the puzzle valid.
+     *
+     * @return the successful removals
+     */
+    @Override
+    public long getRemovals() {
+        return removals.sum();
+    }
+
+    /**
+     * Gets the number of searches run by the solvers.
+     *
+     * @return the count of solution counts and exclusion searches
+     */
+    @Override
+    public long getSolverCalls() {
+        return solverCalls.sum();
+    }
+
+    /**
+     * Gets the number of search nodes explored by the solvers.
+     *
+     * @return the nodes explored
+     */
+    @Override
+    public long getSolverNodes() {
+        return solverNodes.sum();
+    }
+
+    /**
+     * Gets the number of hints requested.
+     *
+     * @return the hint requests
+     */
+    @Override
+    public long getHintRequests() {
+        return hintRequests.sum();
+    }
+
+    /**
+     * Gets the number of moves validated against the rules.
+     *
+     * @return the validation calls
+     */
+    @Override
+    public long getValidationCalls() {
+        return validationCalls.sum();
+    }
+
+    /**
+     * Gets the number of times a board was checked for completion.
+     *
+     * @return the victory checks
+     */
+    @Override
+    public long getVictoryChecks() {
+        return victoryChecks.sum();
+    }
+
+    /**
+     * Gets the number of boards completed by players.
+     *
+     * @return the victories
+     */
+    @Override
+    public long getVictories() {
+        return victories.sum();
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    @Override
+    public void reset() {
+        solutionGeneration.reset();
+        removalAttempts.reset();
+        removals.reset();
+        solverCalls.reset();
+        solverNodes.reset();
+        hintRequests.reset();
+        validationCalls.reset();
+        victoryChecks.reset();
+        victories.reset();
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format (version 0.0.4).
+     * Solution generation is a summary in seconds; everything else is a counter.
+     *
+     * @return the exposition document
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(2048);
+        out.append("# HELP sudoku_solution_generation_seconds Time to generate a complete solution.\n");
+        out.append("# TYPE sudoku_solution_generation_seconds summary\n");
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            out.append("sudoku_solution_generation_seconds{quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(solutionGeneration.getValueAtPercentile(quantile * 100))).append('\n');
+        }
+        out.append("sudoku_solution_generation_seconds_sum ").append(seconds(solutionGeneration.getSum())).append('\n');
+        out.append("sudoku_solution_generation_seconds_count ").append(solutionGeneration.getCount()).append('\n');
+        counter(out, "sudoku_removal_attempts_total", "Cells the generators tried to remove.", removalAttempts);
+        counter(out, "sudoku_removals_total", "Cells removed while keeping the puzzle valid.", removals);
+        counter(out, "sudoku_solver_calls_total", "Searches run by the solvers.", solverCalls);
+        counter(out, "sudoku_solver_nodes_total", "Search nodes explored by the solvers.", solverNodes);
+        counter(out, "sudoku_hint_requests_total", "Hints requested.", hintRequests);
+        counter(out, "sudoku_validation_calls_total", "Moves validated against the rules.", validationCalls);
+        counter(out, "sudoku_victory_checks_total", "Completion checks.", victoryChecks);
+        counter(out, "sudoku_victories_total", "Boards completed by players.", victories);
+        return out.toString();
+    }
+
+    /**
+     * Appends a counter with its help and type lines.
+     */
+    private static void counter(StringBuilder out, String name, String help, LongAdder value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+
+    /**
+     * Formats nanoseconds as seconds.
+     */
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
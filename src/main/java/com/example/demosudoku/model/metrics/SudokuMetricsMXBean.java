@@ -0,0 +1,94 @@
+package com.example.demosudoku.model.metrics;
+
+/**
+ * Management interface of {@link SudokuMetrics}, published over JMX as
+ * {@value SudokuMetrics#OBJECT_NAME}. Counters are cumulative since the start
+ * of the process or the last {@link #reset()}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public interface SudokuMetricsMXBean {
+
+    /**
+     * Gets the number of complete solutions generated.
+     *
+     * @return the count of {@code generateCompleteSolution} calls
+     */
+    long getSolutionsGenerated();
+
+    /**
+     * Gets the mean time to generate a complete solution.
+     *
+     * @return the mean in milliseconds
+     */
+    double getSolutionGenerationMeanMillis();
+
+    /**
+     * Gets the 99th percentile of the time to generate a complete solution.
+     *
+     * @return the percentile in milliseconds
+     */
+    double getSolutionGenerationP99Millis();
+
+    /**
+     * Gets the number of cells the generators tried to remove.
+     *
+     * @return the removal attempts
+     */
+    long getRemovalAttempts();
+
+    /**
+     * Gets the number of cells removed while keeping the puzzle valid.
+     *
+     * @return the successful removals
+     */
+    long getRemovals();
+
+    /**
+     * Gets the number of searches run by the solvers.
+     *
+     * @return the count of solution counts and exclusion searches
+     */
+    long getSolverCalls();
+
+    /**
+     * Gets the number of search nodes explored by the solvers.
+     *
+     * @return the nodes explored
+     */
+    long getSolverNodes();
+
+    /**
+     * Gets the number of hints requested.
+     *
+     * @return the hint requests
+     */
+    long getHintRequests();
+
+    /**
+     * Gets the number of moves validated against the rules.
+     *
+     * @return the validation calls
+     */
+    long getValidationCalls();
+
+    /**
+     * Gets the number of times a board was checked for completion.
+     *
+     * @return the victory checks
+     */
+    long getVictoryChecks();
+
+    /**
+     * Gets the number of boards completed by players.
+     *
+     * @return the victories
+     */
+    long getVictories();
+
+    /**
+     * Sets every counter back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,35 @@
+package com.example.demosudoku.model.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a hint search. Recorded only when it takes at
+ * least the threshold (1 ms by default), with the stack trace of the caller.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@Name("com.example.demosudoku.Suggestion")
+@Label("Suggestion")
+@Category({"Sudoku", "Game"})
+@Description("The suggestion engine looked for a safe hint")
+@Threshold("1 ms")
+public class SuggestionEvent extends Event {
+
+    /**
+     * Whether a hint was found.
+     */
+    @Label("Found")
+    public boolean found;
+
+    /**
+     * Whether the hint came from the logical solver rather than the stored solution.
+     */
+    @Label("Logical")
+    public boolean logical;
+}
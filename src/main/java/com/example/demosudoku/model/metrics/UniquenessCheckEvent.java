@@ -0,0 +1,44 @@
+package com.example.demosudoku.model.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a check that a puzzle still has exactly one
+ * solution. Recorded only when it takes at least the threshold (1 ms by
+ * default), so the thousands of fast checks made per puzzle cost nothing.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+@Name("com.example.demosudoku.UniquenessCheck")
+@Label("Uniqueness Check")
+@Category({"Sudoku", "Generation"})
+@Description("A solver counted the solutions of a puzzle up to two")
+@Threshold("1 ms")
+@StackTrace(false)
+public class UniquenessCheckEvent extends Event {
+
+    /**
+     * Side of the board.
+     */
+    @Label("Size")
+    public int size;
+
+    /**
+     * Search nodes the solver visited.
+     */
+    @Label("Nodes")
+    public long nodes;
+
+    /**
+     * Whether the puzzle has exactly one solution.
+     */
+    @Label("Unique")
+    public boolean unique;
+}
@@ -0,0 +1,108 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a generated Sudoku puzzle: its givens and its complete solution.
+ * Values are stored row-major in byte arrays, 0 meaning an empty cell in the givens.
+ * Puzzles are produced by {@link com.example.demosudoku.model.board.Board#toPuzzle()}
+ * and can be loaded back into a board without running the generator.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class Puzzle {
+
+    /**
+     * The shape of the board.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * The starting values of the puzzle, row-major.
+     */
+    private final byte[] givens;
+
+    /**
+     * The complete solution, row-major.
+     */
+    private final byte[] solution;
+
+    /**
+     * Creates a puzzle from row-major value arrays. The arrays are copied.
+     *
+     * @param geometry the shape of the board
+     * @param givens the starting values, 0 for empty cells
+     * @param solution the complete solution
+     * @throws IllegalArgumentException if an array does not match the geometry
+     */
+    public Puzzle(BoardGeometry geometry, byte[] givens, byte[] solution) {
+        if (givens.length != geometry.getCells() || solution.length != geometry.getCells()) {
+            throw new IllegalArgumentException("El puzzle no coincide con el tamaño " + geometry.getSize());
+        }
+        this.geometry = geometry;
+        this.givens = givens.clone();
+        this.solution = solution.clone();
+    }
+
+    /**
+     * Gets the geometry of the puzzle.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the starting value of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the given value, or 0 if the cell starts empty
+     */
+    public int getGiven(int row, int col) {
+        return givens[row * geometry.getSize() + col];
+    }
+
+    /**
+     * Gets the solution value of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the value of the cell in the solution
+     */
+    public int getSolution(int row, int col) {
+        return solution[row * geometry.getSize() + col];
+    }
+
+    /**
+     * Counts the cells that have a starting value.
+     *
+     * @return the number of givens
+     */
+    public int getClueCount() {
+        int clues = 0;
+        for (byte value : givens) {
+            if (value != 0) clues++;
+        }
+        return clues;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Puzzle)) return false;
+        Puzzle puzzle = (Puzzle) other;
+        return geometry == puzzle.geometry
+                && Arrays.equals(givens, puzzle.givens)
+                && Arrays.equals(solution, puzzle.solution);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * geometry.hashCode() + Arrays.hashCode(givens)) + Arrays.hashCode(solution);
+    }
+}
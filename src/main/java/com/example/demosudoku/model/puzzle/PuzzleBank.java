@@ -0,0 +1,83 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Constants and header handling shared by the binary puzzle bank reader and writer.
+ * A bank file is a 16-byte header followed by fixed-width records in
+ * {@link PuzzleRecordCodec} format. The header holds the magic {@code SDKB},
+ * a format version, the board size, the record length and the record count
+ * (little-endian).
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+final class PuzzleBank {
+
+    /**
+     * File signature ("SDKB").
+     */
+    static final int MAGIC = 0x424B4453;
+
+    /**
+     * Current format version.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Length of the header in bytes.
+     */
+    static final int HEADER_BYTES = 16;
+
+    /**
+     * Offset of the record count inside the header.
+     */
+    static final int COUNT_OFFSET = 8;
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private PuzzleBank() {
+    }
+
+    /**
+     * Builds a header for a bank.
+     *
+     * @param geometry the geometry of the records
+     * @param count the number of records
+     * @return a buffer ready to be written
+     */
+    static ByteBuffer header(BoardGeometry geometry, long count) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put((byte) geometry.getSize());
+        header.putShort((short) PuzzleRecordCodec.recordBytes(geometry));
+        header.putLong(count);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Validates a header and returns the geometry it declares.
+     *
+     * @param header the header bytes, positioned at its start
+     * @return the geometry of the records
+     * @throws IOException if the header is not a supported bank header
+     */
+    static BoardGeometry readGeometry(ByteBuffer header) throws IOException {
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC || header.get(4) != VERSION) {
+            throw new IOException("No es un banco de puzzles compatible");
+        }
+        BoardGeometry geometry = BoardGeometry.ofSize(header.get(5));
+        if (header.getShort(6) != PuzzleRecordCodec.recordBytes(geometry)) {
+            throw new IOException("Longitud de registro inesperada en el banco");
+        }
+        return geometry;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random-access reader for binary puzzle banks.
+ * The whole file is memory-mapped read-only, so nothing is loaded into the heap
+ * and the k-th puzzle is found by offset arithmetic alone. Banks are limited to
+ * 2 GB (over 100 million 6x6 puzzles). Reads never modify the mapping, so a
+ * reader can be shared between threads.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class PuzzleBankReader implements Closeable {
+
+    /**
+     * The geometry of every record in the bank.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Channel of the bank file, kept open while the mapping is in use.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Read-only mapping of the whole file.
+     */
+    private final MappedByteBuffer mapping;
+
+    /**
+     * Length of one record in bytes.
+     */
+    private final int recordBytes;
+
+    /**
+     * Number of records in the bank.
+     */
+    private final int count;
+
+    /**
+     * Opens and maps a bank file.
+     *
+     * @param path the bank file
+     * @throws IOException if the file cannot be read or is not a valid bank
+     */
+    public PuzzleBankReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("El banco supera el tamaño máximo de 2 GB");
+            }
+            this.mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapping.capacity() < PuzzleBank.HEADER_BYTES) {
+                throw new IOException("Banco de puzzles truncado");
+            }
+            this.geometry = PuzzleBank.readGeometry(mapping);
+            this.recordBytes = PuzzleRecordCodec.recordBytes(geometry);
+            long declared = mapping.getLong(PuzzleBank.COUNT_OFFSET);
+            long available = (mapping.capacity() - PuzzleBank.HEADER_BYTES) / recordBytes;
+            this.count = (int) Math.min(declared, available);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the geometry of the puzzles in the bank.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of puzzles in the bank.
+     *
+     * @return the record count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Decodes the k-th puzzle.
+     *
+     * @param index the record index
+     * @return the puzzle
+     * @throws IndexOutOfBoundsException if the index is outside the bank
+     */
+    public Puzzle get(int index) {
+        return PuzzleRecordCodec.decode(geometry, mapping, offsetOf(index));
+    }
+
+    /**
+     * Loads the k-th puzzle straight from the mapping into a board, without an intermediate copy.
+     *
+     * @param index the record index
+     * @param board the board to initialize; it must have the bank's geometry
+     * @throws IndexOutOfBoundsException if the index is outside the bank
+     * @throws IllegalArgumentException if the board has another geometry
+     */
+    public void loadInto(int index, Board board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("El tablero es de otro tamaño que el banco: " + board.getGeometry());
+        }
+        board.loadRecord(mapping, offsetOf(index));
+    }
+
+    /**
+     * Picks a puzzle uniformly at random.
+     *
+     * @param random the source of randomness
+     * @return a random puzzle
+     * @throws IllegalStateException if the bank is empty
+     */
+    public Puzzle random(RandomGenerator random) {
+        if (count == 0) throw new IllegalStateException("El banco de puzzles está vacío");
+        return get(random.nextInt(count));
+    }
+
+    /**
+     * Releases the file. The mapping itself is released by the garbage collector.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Computes the absolute offset of a record.
+     */
+    private int offsetOf(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " fuera del banco de " + count);
+        }
+        return PuzzleBank.HEADER_BYTES + index * recordBytes;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes puzzles to a binary bank file.
+ * Records are accumulated in a direct buffer and flushed to the file channel in
+ * large writes; the record count in the header is updated on {@link #close()}.
+ * Instances are not thread-safe.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class PuzzleBankWriter implements Closeable {
+
+    /**
+     * Size of the write buffer.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * The geometry of every record in the bank.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Channel of the bank file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Records waiting to be written.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Number of records appended so far.
+     */
+    private long count;
+
+    /**
+     * Creates (or truncates) a bank file.
+     *
+     * @param path the file to write
+     * @param geometry the geometry of the puzzles that will be appended
+     * @throws IOException if the file cannot be opened
+     */
+    public PuzzleBankWriter(Path path, BoardGeometry geometry) throws IOException {
+        this.geometry = geometry;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        int recordBytes = PuzzleRecordCodec.recordBytes(geometry);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES - BUFFER_BYTES % recordBytes);
+        writeFully(PuzzleBank.header(geometry, 0));
+    }
+
+    /**
+     * Appends a puzzle to the bank.
+     *
+     * @param puzzle the puzzle; it must have the bank's geometry
+     * @throws IOException if the buffer cannot be flushed
+     * @throws IllegalArgumentException if the puzzle has another geometry
+     */
+    public void append(Puzzle puzzle) throws IOException {
+        if (puzzle.getGeometry() != geometry) {
+            throw new IllegalArgumentException("El puzzle es de otro tamaño: " + puzzle.getGeometry());
+        }
+        if (buffer.remaining() < PuzzleRecordCodec.recordBytes(geometry)) {
+            flush();
+        }
+        PuzzleRecordCodec.encode(puzzle, buffer);
+        count++;
+    }
+
+    /**
+     * Gets the number of records appended so far.
+     *
+     * @return the record count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Writes buffered records to the file.
+     *
+     * @throws IOException if the write fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Flushes pending records, stores the final count in the header and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer header = PuzzleBank.header(geometry, count);
+            channel.write(header, 0);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes a buffer completely at the channel's current position.
+     */
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.util.Arrays;
+
+/**
+ * Maps 6x6 (2x3) puzzles to a canonical representative of their isomorphism class.
+ * Two puzzles are isomorphic when one can be turned into the other by relabelling
+ * digits, swapping rows inside a band, permuting the three bands, swapping columns
+ * inside a stack or swapping the two stacks. That gives 48 row orders times 72
+ * column orders; for each one the givens are read row-major, digits are relabelled
+ * in order of first appearance (which yields the smallest relabelling), and the
+ * lexicographically smallest grid wins. Candidates are abandoned as soon as their
+ * prefix exceeds the best grid found so far.
+ * <p>
+ * Instances reuse scratch buffers and are not thread-safe; use one per thread.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class PuzzleCanonicalizer {
+
+    /**
+     * Side of the supported board.
+     */
+    private static final int SIZE = 6;
+
+    /**
+     * Number of cells of the supported board.
+     */
+    private static final int CELLS = SIZE * SIZE;
+
+    /**
+     * All 48 row orders that keep the 2-row bands intact.
+     */
+    private static final int[][] ROW_ORDERS = orders(3, 2);
+
+    /**
+     * All 72 column orders that keep the 3-column stacks intact.
+     */
+    private static final int[][] COL_ORDERS = orders(2, 3);
+
+    /**
+     * Smallest grid found so far in the current canonicalization.
+     */
+    private final byte[] best = new byte[CELLS];
+
+    /**
+     * Relabelling map of the candidate being built.
+     */
+    private final byte[] labels = new byte[SIZE + 1];
+
+    /**
+     * Computes the canonical form of a puzzle's givens.
+     *
+     * @param puzzle a 6x6 puzzle
+     * @return a new array with the canonical givens, row-major (0 for empty cells)
+     * @throws IllegalArgumentException if the puzzle is not 6x6
+     */
+    public byte[] canonicalForm(Puzzle puzzle) {
+        canonicalize(puzzle);
+        return best.clone();
+    }
+
+    /**
+     * Computes a 64-bit hash of the canonical form of a puzzle's givens.
+     * Isomorphic puzzles always get the same hash.
+     *
+     * @param puzzle a 6x6 puzzle
+     * @return the canonical hash
+     * @throws IllegalArgumentException if the puzzle is not 6x6
+     */
+    public long canonicalHash(Puzzle puzzle) {
+        canonicalize(puzzle);
+
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        for (byte value : best) {
+            hash ^= value;
+            hash *= 0x100000001b3L;
+        }
+        // Mezcla final (murmur3 fmix64) para repartir los bits
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Finds the smallest transformed grid of a puzzle's givens and leaves it in {@link #best}.
+     *
+     * @param puzzle a 6x6 puzzle
+     * @throws IllegalArgumentException if the puzzle is not 6x6
+     */
+    private void canonicalize(Puzzle puzzle) {
+        if (puzzle.getGeometry() != BoardGeometry.SIX) {
+            throw new IllegalArgumentException("La forma canónica solo está definida para 6x6");
+        }
+        byte[] grid = new byte[CELLS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            grid[cell] = (byte) puzzle.getGiven(cell / SIZE, cell % SIZE);
+        }
+
+        Arrays.fill(best, Byte.MAX_VALUE);
+        for (int[] rows : ROW_ORDERS) {
+            for (int[] cols : COL_ORDERS) {
+                tryCandidate(grid, rows, cols);
+            }
+        }
+    }
+
+    /**
+     * Builds one transformed, relabelled grid and keeps it if it is smaller than {@link #best}.
+     *
+     * @param grid the row-major givens
+     * @param rows the row order
+     * @param cols the column order
+     */
+    private void tryCandidate(byte[] grid, int[] rows, int[] cols) {
+        Arrays.fill(labels, (byte) 0);
+        byte nextLabel = 1;
+        boolean smaller = false;
+
+        for (int i = 0; i < CELLS; i++) {
+            int value = grid[rows[i / SIZE] * SIZE + cols[i % SIZE]];
+            byte label = 0;
+            if (value != 0) {
+                if (labels[value] == 0) {
+                    labels[value] = nextLabel++;
+                }
+                label = labels[value];
+            }
+
+            if (!smaller) {
+                if (label > best[i]) return; // Prefijo mayor: descartar
+                if (label < best[i]) smaller = true;
+            }
+            if (smaller) {
+                best[i] = label;
+            }
+        }
+    }
+
+    /**
+     * Enumerates the line orders that permute groups and the lines inside each group.
+     *
+     * @param groups the number of groups (bands or stacks)
+     * @param width the number of lines per group
+     * @return every valid order as an array of line indices
+     */
+    private static int[][] orders(int groups, int width) {
+        int[][] groupOrders = permutations(groups);
+        int[][] lineOrders = permutations(width);
+        int inner = (int) Math.pow(lineOrders.length, groups);
+        int[][] result = new int[groupOrders.length * inner][];
+        int index = 0;
+        for (int[] groupOrder : groupOrders) {
+            for (int combo = 0; combo < inner; combo++) {
+                int[] order = new int[groups * width];
+                int rest = combo;
+                for (int g = 0; g < groups; g++) {
+                    int[] lines = lineOrders[rest % lineOrders.length];
+                    rest /= lineOrders.length;
+                    for (int k = 0; k < width; k++) {
+                        order[g * width + k] = groupOrder[g] * width + lines[k];
+                    }
+                }
+                result[index++] = order;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Enumerates all permutations of {@code 0..n-1}.
+     *
+     * @param n the number of elements
+     * @return every permutation
+     */
+    static int[][] permutations(int n) {
+        if (n == 1) return new int[][]{{0}};
+        int[][] smaller = permutations(n - 1);
+        int[][] result = new int[smaller.length * n][];
+        int index = 0;
+        for (int[] base : smaller) {
+            for (int position = 0; position < n; position++) {
+                int[] permutation = new int[n];
+                for (int k = 0, b = 0; k < n; k++) {
+                    permutation[k] = k == position ? n - 1 : base[b++];
+                }
+                result[index++] = permutation;
+            }
+        }
+        return result;
+    }
+}
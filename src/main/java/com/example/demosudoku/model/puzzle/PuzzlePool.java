@@ -0,0 +1,375 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.SolutionCatalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Bounded pool of pre-generated puzzles kept full by a background worker.
+ * New games take a ready puzzle from the pool, so starting a game does not
+ * wait for generation and uniqueness-checked removal. When the pool is empty
+ * callers fall back to generating inline.
+ * <p>
+ * Given a bank of curated template puzzles (see {@link #setTemplates(PuzzleBankReader)}),
+ * the pool stops generating and derives every puzzle from a random template with
+ * {@link PuzzleTransformer} instead. Templates are decoded from the bank's mapping
+ * one at a time, when they are drawn, so a large bank costs no heap. That takes
+ * microseconds, so {@link #poll()} then never comes back empty-handed: when the
+ * queue is drained it transforms a template on the calling thread.
+ * <p>
+ * With a bank of ready puzzles (see {@link #setBank(PuzzleBankReader)}) new
+ * games skip the pool entirely: {@link #loadNext(Board)} decodes a random record
+ * of the memory-mapped bank straight into the game's board, and the worker
+ * does not run.
+ * <p>
+ * There is one pool per geometry, obtained through {@link #getInstance(BoardGeometry)}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class PuzzlePool {
+
+    /**
+     * Default number of puzzles kept ready per geometry.
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Weight of the newest sample in the generation-time moving average.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The shared pools, one per geometry.
+     */
+    private static final Map<BoardGeometry, PuzzlePool> INSTANCES = new EnumMap<>(BoardGeometry.class);
+
+    /**
+     * The geometry of the puzzles in this pool.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Ready puzzles waiting to be played.
+     */
+    private final BlockingQueue<Puzzle> queue;
+
+    /**
+     * Bank of curated puzzles to transform instead of generating, or null to generate.
+     */
+    private volatile PuzzleBankReader templates;
+
+    /**
+     * Bank whose puzzles are played as they are, or null to use the queue.
+     */
+    private volatile PuzzleBankReader bank;
+
+    /**
+     * Background thread that refills the pool, or null when stopped.
+     */
+    private Thread worker;
+
+    /**
+     * Moving average of the time needed to generate one puzzle, in nanoseconds.
+     */
+    private volatile double averageGenerationNanos;
+
+    /**
+     * Total number of puzzles generated by the worker.
+     */
+    private volatile long generatedCount;
+
+    /**
+     * Creates a pool. Use {@link #getInstance(BoardGeometry)} for the shared pools.
+     *
+     * @param geometry the geometry of the puzzles to generate
+     * @param capacity the maximum number of ready puzzles
+     */
+    public PuzzlePool(BoardGeometry geometry, int capacity) {
+        this.geometry = geometry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Returns the shared pool for a geometry, creating it on first use.
+     * The pool is not started automatically; call {@link #start()}.
+     *
+     * @param geometry the board geometry
+     * @return the shared pool
+     */
+    public static PuzzlePool getInstance(BoardGeometry geometry) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(geometry, g -> new PuzzlePool(g, DEFAULT_CAPACITY));
+        }
+    }
+
+    /**
+     * Opens a binary bank and makes its puzzles the templates of the shared
+     * pool of the bank's geometry. The bank stays open for the life of the process.
+     *
+     * @param bank the bank file with the curated puzzles
+     * @return the shared pool that now transforms them
+     * @throws IOException if the bank cannot be read or is empty
+     */
+    public static PuzzlePool loadTemplates(Path bank) throws IOException {
+        PuzzleBankReader reader = new PuzzleBankReader(bank);
+        if (reader.size() == 0) {
+            reader.close();
+            throw new IOException("El banco de plantillas está vacío");
+        }
+        PuzzlePool pool = getInstance(reader.getGeometry());
+        pool.setTemplates(reader);
+        return pool;
+    }
+
+    /**
+     * Opens a binary bank and makes it the source of new games for the shared
+     * pool of the bank's geometry. The bank stays open for the life of the process.
+     *
+     * @param path the bank file
+     * @return the shared pool that now serves it
+     * @throws IOException if the bank cannot be read or is empty
+     */
+    public static PuzzlePool loadBank(Path path) throws IOException {
+        PuzzleBankReader reader = new PuzzleBankReader(path);
+        if (reader.size() == 0) {
+            reader.close();
+            throw new IOException("El banco de puzzles está vacío");
+        }
+        PuzzlePool pool = getInstance(reader.getGeometry());
+        pool.setBank(reader);
+        return pool;
+    }
+
+    /**
+     * Starts the background worker if it is not already running and no bank is set.
+     * A 6x6 pool that generates also loads the {@link SolutionCatalog} in the
+     * background right away, so the first board, even one generated inline,
+     * does not pay for its enumeration.
+     */
+    public synchronized void start() {
+        if (bank != null || (worker != null && worker.isAlive())) return;
+
+        if (geometry == BoardGeometry.SIX && templates == null) {
+            Thread warmUp = new Thread(PuzzlePool::loadCatalog, "Solution-Catalog-Warm-Up");
+            warmUp.setDaemon(true);
+            warmUp.start();
+        }
+
+        worker = new Thread(this::refillLoop);
+        worker.setDaemon(true);
+        worker.setName("Puzzle-Pool-" + geometry.getSize() + "x" + geometry.getSize());
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    /**
+     * Stops the background worker. Puzzles already in the pool stay available.
+     */
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Takes a ready puzzle without waiting. With templates, an empty pool
+     * transforms one on the calling thread instead of returning null.
+     *
+     * @return a puzzle, or null if the pool is currently empty and has no templates
+     */
+    public Puzzle poll() {
+        Puzzle puzzle = queue.poll();
+        if (puzzle == null) {
+            PuzzleBankReader current = templates;
+            if (current != null) {
+                puzzle = transformTemplate(current, ThreadLocalRandom.current());
+            }
+        }
+        return puzzle;
+    }
+
+    /**
+     * Replaces the generator with transformations of the curated puzzles of a
+     * bank. Puzzles already in the pool stay available; null goes back to generating.
+     * The bank must stay open while it is set.
+     *
+     * @param templates the bank of puzzles to transform, with this pool's geometry and at least one puzzle, or null
+     * @throws IllegalArgumentException if the bank has another geometry or is empty
+     */
+    public void setTemplates(PuzzleBankReader templates) {
+        if (templates != null && (templates.getGeometry() != geometry || templates.size() == 0)) {
+            throw new IllegalArgumentException("El banco de plantillas no tiene puzzles de " + geometry.getSize() + "x" + geometry.getSize());
+        }
+        this.templates = templates;
+    }
+
+    /**
+     * Gets the number of curated puzzles the pool transforms.
+     *
+     * @return the template count, 0 when the pool generates
+     */
+    public int getTemplateCount() {
+        PuzzleBankReader current = templates;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Plays the puzzles of a bank instead of generated ones, and stops the worker.
+     * Puzzles already in the queue are no longer handed out.
+     *
+     * @param bank the bank, with this pool's geometry and at least one puzzle
+     * @throws IllegalArgumentException if the bank has another geometry or is empty
+     */
+    public void setBank(PuzzleBankReader bank) {
+        if (bank.getGeometry() != geometry || bank.size() == 0) {
+            throw new IllegalArgumentException("El banco no tiene puzzles de " + geometry.getSize() + "x" + geometry.getSize());
+        }
+        this.bank = bank;
+        stop();
+    }
+
+    /**
+     * Loads a random puzzle of the bank straight into a board, without decoding
+     * it into a {@link Puzzle} first.
+     *
+     * @param board the board to load; it must have this pool's geometry
+     * @return true if a bank is set and the board was loaded, false otherwise
+     */
+    public boolean loadNext(Board board) {
+        PuzzleBankReader current = bank;
+        if (current == null) return false;
+        current.loadInto(ThreadLocalRandom.current().nextInt(current.size()), board);
+        return true;
+    }
+
+    /**
+     * Gets the bank new games are read from.
+     *
+     * @return the bank, or null when the pool generates
+     */
+    public PuzzleBankReader getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the geometry of the puzzles in this pool.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of puzzles currently ready.
+     *
+     * @return the fill level of the pool
+     */
+    public int getFillLevel() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the maximum number of puzzles the pool holds.
+     *
+     * @return the capacity of the pool
+     */
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * Gets the rate at which the worker produces puzzles while it is refilling.
+     *
+     * @return puzzles per second, or 0 if nothing has been generated yet
+     */
+    public double getRefillRate() {
+        double nanos = averageGenerationNanos;
+        return nanos > 0 ? 1_000_000_000.0 / nanos : 0;
+    }
+
+    /**
+     * Gets the total number of puzzles generated by the worker.
+     *
+     * @return the generated count
+     */
+    public long getGeneratedCount() {
+        return generatedCount;
+    }
+
+    /**
+     * Worker loop: generates (or transforms) puzzles and blocks while the pool is full.
+     */
+    private void refillLoop() {
+        Board generator = null;
+        SplittableRandom random = new SplittableRandom();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = System.nanoTime();
+                PuzzleBankReader current = templates;
+                Puzzle puzzle;
+                if (current != null) {
+                    puzzle = transformTemplate(current, random);
+                } else {
+                    if (generator == null) {
+                        generator = new Board(geometry);
+                    } else {
+                        generator.regenerateBoard();
+                    }
+                    puzzle = generator.toPuzzle();
+                }
+                recordGeneration(System.nanoTime() - start);
+
+                queue.put(puzzle);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loads the shared solution catalog, reporting a catalog file that cannot be read.
+     */
+    private static void loadCatalog() {
+        try {
+            SolutionCatalog.getInstance();
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage() + ": " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Decodes a template picked uniformly at random and transforms it.
+     *
+     * @param templates the non-empty template bank
+     * @param random the source of randomness
+     * @return a new puzzle
+     */
+    private static Puzzle transformTemplate(PuzzleBankReader templates, RandomGenerator random) {
+        return PuzzleTransformer.transform(templates.random(random), random);
+    }
+
+    /**
+     * Updates the generation statistics with a new sample.
+     *
+     * @param nanos the time spent generating one puzzle
+     */
+    private void recordGeneration(long nanos) {
+        double average = averageGenerationNanos;
+        averageGenerationNanos = average == 0 ? nanos : average + SMOOTHING * (nanos - average);
+        generatedCount++;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width binary record format for puzzles.
+ * A record packs the solution and the clue mask of a puzzle, least significant
+ * bit first: first every solution value minus one using {@link #bitsPerValue(BoardGeometry)}
+ * bits per cell (row-major), then one bit per cell that is set when the cell is a given.
+ * A 6x6 puzzle takes 36 * 3 + 36 = 144 bits, i.e. 18 bytes.
+ * <p>
+ * Values are read straight from a {@link ByteBuffer} at an absolute offset, so
+ * records in a memory-mapped bank can be decoded without copying them first.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class PuzzleRecordCodec {
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private PuzzleRecordCodec() {
+    }
+
+    /**
+     * Gets the number of bits used to store one solution value.
+     *
+     * @param geometry the board geometry
+     * @return the bits per value (3 for 6x6, 4 for the larger boards)
+     */
+    public static int bitsPerValue(BoardGeometry geometry) {
+        return 32 - Integer.numberOfLeadingZeros(geometry.getSize() - 1);
+    }
+
+    /**
+     * Gets the size of one record.
+     *
+     * @param geometry the board geometry
+     * @return the record length in bytes
+     */
+    public static int recordBytes(BoardGeometry geometry) {
+        int bits = geometry.getCells() * (bitsPerValue(geometry) + 1);
+        return (bits + 7) / 8;
+    }
+
+    /**
+     * Writes a puzzle as one record at the buffer's current position, advancing it.
+     *
+     * @param puzzle the puzzle to encode
+     * @param buffer the destination buffer
+     */
+    public static void encode(Puzzle puzzle, ByteBuffer buffer) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        int size = geometry.getSize();
+        int bits = bitsPerValue(geometry);
+        int cells = geometry.getCells();
+        byte[] record = new byte[recordBytes(geometry)];
+
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            writeBits(record, cell * bits, bits, puzzle.getSolution(row, col) - 1);
+            if (puzzle.getGiven(row, col) != 0) {
+                writeBits(record, cells * bits + cell, 1, 1);
+            }
+        }
+        buffer.put(record);
+    }
+
+    /**
+     * Decodes the solution value of one cell.
+     *
+     * @param geometry the board geometry
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @param cell the row-major cell index
+     * @return the solution value (1..size)
+     */
+    public static int solutionValue(BoardGeometry geometry, ByteBuffer buffer, int offset, int cell) {
+        int bits = bitsPerValue(geometry);
+        return readBits(buffer, offset, cell * bits, bits) + 1;
+    }
+
+    /**
+     * Decodes whether a cell is a given.
+     *
+     * @param geometry the board geometry
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @param cell the row-major cell index
+     * @return true if the cell starts filled
+     */
+    public static boolean isGiven(BoardGeometry geometry, ByteBuffer buffer, int offset, int cell) {
+        int maskStart = geometry.getCells() * bitsPerValue(geometry);
+        return readBits(buffer, offset, maskStart + cell, 1) != 0;
+    }
+
+    /**
+     * Decodes a whole record into a {@link Puzzle}.
+     *
+     * @param geometry the board geometry
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return the decoded puzzle
+     */
+    public static Puzzle decode(BoardGeometry geometry, ByteBuffer buffer, int offset) {
+        int cells = geometry.getCells();
+        byte[] givens = new byte[cells];
+        byte[] solution = new byte[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            solution[cell] = (byte) solutionValue(geometry, buffer, offset, cell);
+            if (isGiven(geometry, buffer, offset, cell)) {
+                givens[cell] = solution[cell];
+            }
+        }
+        return new Puzzle(geometry, givens, solution);
+    }
+
+    /**
+     * Stores the low {@code count} bits of a value at a bit position of a byte array.
+     */
+    private static void writeBits(byte[] record, int position, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if ((value & (1 << i)) != 0) {
+                int bit = position + i;
+                record[bit >> 3] |= (byte) (1 << (bit & 7));
+            }
+        }
+    }
+
+    /**
+     * Reads {@code count} bits (at most 8) starting at a bit position of a record.
+     */
+    private static int readBits(ByteBuffer buffer, int offset, int position, int count) {
+        int index = offset + (position >> 3);
+        int shift = position & 7;
+        int word = buffer.get(index) & 0xFF;
+        if (shift + count > 8) {
+            word |= (buffer.get(index + 1) & 0xFF) << 8;
+        }
+        return (word >>> shift) & ((1 << count) - 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+/**
+ * Line-oriented text encoding of puzzles, used for puzzle banks and streaming output.
+ * A line has the form {@code size:givens:solution}, where each grid is written
+ * row-major with one character per cell: {@code 1-9} and then {@code A-G} for
+ * digits above nine, and {@code .} for empty cells.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class PuzzleTextFormat {
+
+    /**
+     * Separator between the fields of a line.
+     */
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Character used for empty cells.
+     */
+    private static final char EMPTY = '.';
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private PuzzleTextFormat() {
+    }
+
+    /**
+     * Encodes a puzzle as a single line (without line terminator).
+     *
+     * @param puzzle the puzzle to encode
+     * @return the encoded line
+     */
+    public static String format(Puzzle puzzle) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        int size = geometry.getSize();
+        StringBuilder line = new StringBuilder(4 + 2 * geometry.getCells());
+        line.append(size).append(SEPARATOR);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                line.append(toChar(puzzle.getGiven(row, col)));
+            }
+        }
+        line.append(SEPARATOR);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                line.append(toChar(puzzle.getSolution(row, col)));
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Decodes a line produced by {@link #format(Puzzle)}.
+     *
+     * @param line the encoded line
+     * @return the decoded puzzle
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static Puzzle parse(String line) {
+        String[] fields = line.trim().split(String.valueOf(SEPARATOR));
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Línea de puzzle inválida: " + line);
+        }
+        BoardGeometry geometry = BoardGeometry.ofSize(Integer.parseInt(fields[0]));
+        return new Puzzle(geometry, parseGrid(fields[1], geometry), parseGrid(fields[2], geometry));
+    }
+
+    /**
+     * Decodes one grid field.
+     *
+     * @param field the characters of the grid
+     * @param geometry the expected geometry
+     * @return the row-major values
+     */
+    private static byte[] parseGrid(String field, BoardGeometry geometry) {
+        if (field.length() != geometry.getCells()) {
+            throw new IllegalArgumentException("Se esperaban " + geometry.getCells() + " celdas: " + field);
+        }
+        byte[] values = new byte[field.length()];
+        for (int i = 0; i < values.length; i++) {
+            int value = toValue(field.charAt(i));
+            if (value > geometry.getSize()) {
+                throw new IllegalArgumentException("Valor fuera de rango en la posición " + i + ": " + field);
+            }
+            values[i] = (byte) value;
+        }
+        return values;
+    }
+
+    /**
+     * Converts a cell value to its character.
+     *
+     * @param value the value, 0 for empty
+     * @return the encoded character
+     */
+    private static char toChar(int value) {
+        if (value == 0) return EMPTY;
+        return value <= 9 ? (char) ('0' + value) : (char) ('A' + value - 10);
+    }
+
+    /**
+     * Converts an encoded character back to its value.
+     *
+     * @param c the encoded character
+     * @return the value, 0 for empty
+     */
+    private static int toValue(char c) {
+        if (c == EMPTY || c == '0') return 0;
+        if (c >= '1' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'Z') return c - 'A' + 10;
+        throw new IllegalArgumentException("Carácter de celda inválido: " + c);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Derives new puzzles from existing ones by applying a random transformation
+ * that preserves validity: relabelling the digits, permuting the bands and the
+ * rows inside each band, and permuting the stacks and the columns inside each
+ * stack. The same transformation is applied to the givens and the solution, so
+ * the result has exactly one solution and the same clue count and difficulty as
+ * its source, and is produced in microseconds without any search. These are the
+ * symmetries {@link PuzzleCanonicalizer} factors out, so a transformed puzzle is
+ * always isomorphic to its source.
+ * <p>
+ * The class keeps no state; the randomness comes from the caller, so a seeded
+ * generator reproduces the same transformations.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class PuzzleTransformer {
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private PuzzleTransformer() {
+    }
+
+    /**
+     * Builds a randomly transformed copy of a puzzle.
+     *
+     * @param source the puzzle to transform
+     * @param random the source of randomness
+     * @return a new puzzle isomorphic to the source
+     */
+    public static Puzzle transform(Puzzle source, RandomGenerator random) {
+        BoardGeometry geometry = source.getGeometry();
+        int size = geometry.getSize();
+        int[] labels = shuffledDigits(size, random);
+        int[] rows = lineOrder(size / geometry.getBlockRows(), geometry.getBlockRows(), random);
+        int[] cols = lineOrder(size / geometry.getBlockCols(), geometry.getBlockCols(), random);
+
+        byte[] givens = new byte[geometry.getCells()];
+        byte[] solution = new byte[geometry.getCells()];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                givens[cell] = (byte) labels[source.getGiven(rows[row], cols[col])];
+                solution[cell] = (byte) labels[source.getSolution(rows[row], cols[col])];
+            }
+        }
+        return new Puzzle(geometry, givens, solution);
+    }
+
+    /**
+     * Draws a relabelling of the digits.
+     *
+     * @param size the number of digits
+     * @param random the source of randomness
+     * @return a map from old to new digit, with 0 (empty) mapped to itself
+     */
+    private static int[] shuffledDigits(int size, RandomGenerator random) {
+        int[] labels = new int[size + 1];
+        for (int digit = 1; digit <= size; digit++) labels[digit] = digit;
+        // Fisher-Yates sobre 1..size; el 0 (celda vacía) queda fijo
+        for (int i = size; i > 1; i--) {
+            int j = 1 + random.nextInt(i);
+            int swap = labels[i];
+            labels[i] = labels[j];
+            labels[j] = swap;
+        }
+        return labels;
+    }
+
+    /**
+     * Draws an order of the lines (rows or columns) that keeps every group of
+     * lines (band or stack) together: the groups are shuffled, then the lines
+     * inside each group.
+     *
+     * @param groups the number of groups
+     * @param width the number of lines per group
+     * @param random the source of randomness
+     * @return for each target line, the index of the source line it is read from
+     */
+    private static int[] lineOrder(int groups, int width, RandomGenerator random) {
+        int[] groupOrder = new int[groups];
+        for (int g = 0; g < groups; g++) groupOrder[g] = g;
+        shuffle(groupOrder, 0, groups, random);
+
+        int[] order = new int[groups * width];
+        for (int g = 0; g < groups; g++) {
+            for (int k = 0; k < width; k++) {
+                order[g * width + k] = groupOrder[g] * width + k;
+            }
+            shuffle(order, g * width, width, random);
+        }
+        return order;
+    }
+
+    /**
+     * Shuffles a range of an array in place (Fisher-Yates).
+     *
+     * @param values the array to shuffle
+     * @param from the first index of the range
+     * @param length the number of elements in the range
+     * @param random the source of randomness
+     */
+    private static void shuffle(int[] values, int from, int length, RandomGenerator random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[from + i];
+            values[from + i] = values[from + j];
+            values[from + j] = swap;
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.example.demosudoku.model.save;
+
+import com.example.demosudoku.model.board.BoardAdapter;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.IBoard;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.IGameListener;
+import com.example.demosudoku.model.engine.MoveResult;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleRecordCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves a game as it is played so it can be resumed after the window is closed.
+ * A save directory holds two files:
+ * <ul>
+ *     <li>{@code snapshot.bin}: a magic number, the board size, the puzzle as a
+ *     {@link PuzzleRecordCodec} record (the givens of the starting puzzle and the
+ *     solution) and one byte per cell with its current value (bits 0-6) and
+ *     whether a hint has locked it (bit 7);</li>
+ *     <li>{@code journal.bin}: one int per accepted move made after the snapshot,
+ *     holding the cell (bits 0-15), its new value (bits 16-23) and whether it is
+ *     locked (bit 24).</li>
+ * </ul>
+ * Journal entries are absolute cell states, so replaying them over the snapshot
+ * is idempotent. Every {@link #SNAPSHOT_INTERVAL} moves a new snapshot replaces
+ * the old one atomically and the journal is truncated.
+ * <p>
+ * The journal listens to the engine; each move only appends an int to an
+ * in-memory buffer under a short lock. A background thread drains the buffer
+ * through a direct {@link ByteBuffer} into a {@link FileChannel}, so the thread
+ * that plays (the FX thread) never touches the disk. Closing is handed to the
+ * writer too: {@link #closeInBackground(boolean)} returns at once, and
+ * {@link #closeAll()} waits for every writer before the application exits.
+ * If the writer fails, the journal stops accepting moves instead of buffering
+ * them forever.
+ * <p>
+ * Only one journal owns a directory at a time. Starting or resuming a game in a
+ * directory closes the journal still running there, and the new writer (or the
+ * reader) waits for the old one to finish, so a won game's delayed delete or
+ * truncate never hits the next game's save.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class GameJournal implements IGameListener, Closeable {
+
+    /**
+     * Moves between two snapshots.
+     */
+    static final int SNAPSHOT_INTERVAL = 256;
+
+    /**
+     * First int of a snapshot file ("SDKS").
+     */
+    private static final int MAGIC = 0x53444B53;
+
+    /**
+     * Bit of a snapshot cell byte set when the cell is locked but is not a given.
+     */
+    private static final int LOCKED_BIT = 0x80;
+
+    /**
+     * Size of the write buffer.
+     */
+    private static final int BUFFER_BYTES = 1 << 12;
+
+    /**
+     * Name of the snapshot file.
+     */
+    private static final String SNAPSHOT = "snapshot.bin";
+
+    /**
+     * Name of the journal file.
+     */
+    private static final String JOURNAL = "journal.bin";
+
+    /**
+     * Journals whose writer thread has not finished yet.
+     */
+    private static final Set<GameJournal> RUNNING = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Latest journal started in each save directory, until its writer finishes.
+     */
+    private static final Map<Path, GameJournal> LATEST = new ConcurrentHashMap<>();
+
+    /**
+     * The game being saved.
+     */
+    private final GameEngine engine;
+
+    /**
+     * The save directory.
+     */
+    private final Path directory;
+
+    /**
+     * The save directory as an absolute, normalized path; the key in {@link #LATEST}.
+     */
+    private final Path key;
+
+    /**
+     * Journal that owned the directory before this one; the writer waits for it
+     * before touching the files and then drops the reference.
+     */
+    private GameJournal previous;
+
+    /**
+     * Guards the pending entries, the pending snapshot and the closing flags.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Entries waiting for the writer thread.
+     */
+    private int[] pending = new int[64];
+
+    /**
+     * Number of pending entries.
+     */
+    private int pendingCount;
+
+    /**
+     * Latest snapshot waiting for the writer thread, or null.
+     */
+    private byte[] pendingSnapshot;
+
+    /**
+     * Number of pending entries already covered by the pending snapshot.
+     */
+    private int snapshotMark;
+
+    /**
+     * Whether the journal is closing, or its writer has failed; either way no more moves are accepted.
+     */
+    private boolean closed;
+
+    /**
+     * Whether the save files must be deleted when the writer stops.
+     */
+    private boolean discarded;
+
+    /**
+     * Entries being written; swapped with {@link #pending} by the writer thread.
+     */
+    private int[] writing = new int[64];
+
+    /**
+     * Moves journaled since the last snapshot, counted on the playing thread.
+     */
+    private int sinceSnapshot;
+
+    /**
+     * Background thread that writes the files.
+     */
+    private final Thread writer;
+
+    /**
+     * First error of the writer thread, reported on {@link #close()}.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Creates a journal for a game and queues its first snapshot.
+     */
+    private GameJournal(GameEngine engine, Path directory) {
+        this.engine = engine;
+        this.directory = directory;
+        this.key = key(directory);
+        this.pendingSnapshot = encodeSnapshot(engine);
+        this.writer = new Thread(this::writeLoop, "Sudoku-Journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts saving a game. A full snapshot of the current board is written
+     * first, replacing any previous save in the directory, and every accepted
+     * move from then on is journaled. A journal still running in the directory
+     * is closed, and nothing is written until its writer has finished.
+     *
+     * @param engine the game to save
+     * @param directory the save directory; it is created if needed
+     * @return the running journal
+     */
+    public static GameJournal start(GameEngine engine, Path directory) {
+        GameJournal journal = new GameJournal(engine, directory);
+        GameJournal previous = LATEST.put(journal.key, journal);
+        if (previous != null) {
+            previous.closeInBackground(false);
+            journal.previous = previous;
+        }
+        engine.addListener(journal);
+        RUNNING.add(journal);
+        journal.writer.start();
+        return journal;
+    }
+
+    /**
+     * Restores the game saved in a directory: loads the snapshot and replays the journal.
+     * A journal still running in the directory is closed first, and its writer
+     * is awaited so the files are read complete.
+     *
+     * @param directory the save directory
+     * @return the restored game, or null if the directory holds no save
+     * @throws IOException if the files cannot be read or are damaged
+     */
+    public static GameEngine resume(Path directory) throws IOException {
+        GameJournal latest = LATEST.get(key(directory));
+        if (latest != null) {
+            latest.closeInBackground(false);
+            try {
+                latest.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Lectura de la partida interrumpida: " + directory);
+            }
+        }
+        byte[] snapshot;
+        try {
+            snapshot = Files.readAllBytes(directory.resolve(SNAPSHOT));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        if (snapshot.length < 5 || buffer.getInt() != MAGIC) {
+            throw new IOException("Partida guardada dañada: " + directory);
+        }
+        BoardGeometry geometry;
+        try {
+            geometry = BoardGeometry.ofSize(buffer.get());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Partida guardada dañada: " + e.getMessage());
+        }
+        int size = geometry.getSize();
+        int cells = geometry.getCells();
+        int recordBytes = PuzzleRecordCodec.recordBytes(geometry);
+        if (snapshot.length != 5 + recordBytes + cells) {
+            throw new IOException("Partida guardada dañada: " + directory);
+        }
+        Puzzle puzzle = PuzzleRecordCodec.decode(geometry, buffer, 5);
+        int[] values = new int[cells];
+        boolean[] locked = new boolean[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            int bits = snapshot[5 + recordBytes + cell] & 0xFF;
+            values[cell] = bits & ~LOCKED_BIT;
+            locked[cell] = puzzle.getGiven(cell / size, cell % size) != 0 || (bits & LOCKED_BIT) != 0;
+            if (values[cell] > size) {
+                throw new IOException("Partida guardada dañada: " + directory);
+            }
+        }
+
+        // Reproducir el diario sobre la instantánea; un entero incompleto al final se ignora
+        byte[] journal;
+        try {
+            journal = Files.readAllBytes(directory.resolve(JOURNAL));
+        } catch (NoSuchFileException e) {
+            journal = new byte[0];
+        }
+        ByteBuffer entries = ByteBuffer.wrap(journal);
+        while (entries.remaining() >= Integer.BYTES) {
+            int entry = entries.getInt();
+            int cell = entry & 0xFFFF;
+            int value = (entry >>> 16) & 0xFF;
+            if (cell >= cells || value > size) {
+                throw new IOException("Diario de partida dañado: " + directory);
+            }
+            values[cell] = value;
+            locked[cell] = (entry & (1 << 24)) != 0;
+        }
+
+        // El motor se crea sobre las pistas originales; luego se restauran las jugadas y las ayudas
+        IBoard board = new BoardAdapter(puzzle);
+        GameEngine engine = new GameEngine(board);
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            if (puzzle.getGiven(row, col) != 0) continue;
+            board.getBoard().get(row).set(col, values[cell]);
+            if (locked[cell]) board.lockCell(row, col);
+        }
+        return engine;
+    }
+
+    /**
+     * Deletes the save in a directory, if any.
+     *
+     * @param directory the save directory
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void delete(Path directory) throws IOException {
+        Files.deleteIfExists(directory.resolve(SNAPSHOT));
+        Files.deleteIfExists(directory.resolve(JOURNAL));
+    }
+
+    /**
+     * Journals an accepted move and, every {@link #SNAPSHOT_INTERVAL} moves,
+     * queues a new snapshot. Runs on the playing thread and does no I/O.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the number of the move
+     * @param result what the engine did with the move
+     */
+    @Override
+    public void onMove(int row, int col, int value, MoveResult result) {
+        if (!result.isAccepted()) return;
+        int size = engine.getGeometry().getSize();
+        int entry = (row * size + col) | engine.getValue(row, col) << 16
+                | (engine.isLocked(row, col) ? 1 << 24 : 0);
+        byte[] snapshot = ++sinceSnapshot >= SNAPSHOT_INTERVAL ? encodeSnapshot(engine) : null;
+        synchronized (lock) {
+            if (closed) return;
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            pending[pendingCount++] = entry;
+            if (snapshot != null) {
+                sinceSnapshot = 0;
+                pendingSnapshot = snapshot;
+                snapshotMark = pendingCount;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops journaling without waiting for the disk. The writer thread saves the
+     * pending moves (and deletes the save, when discarding) on its own and reports
+     * failures on the error stream. Safe to call on the FX thread.
+     *
+     * @param discard true to delete the save once pending writes are done, for
+     *                example when the game has been won
+     */
+    public void closeInBackground(boolean discard) {
+        engine.removeListener(this);
+        synchronized (lock) {
+            discarded |= discard;
+            closed = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops journaling and deletes the save once pending writes are done, waiting for the writer.
+     *
+     * @throws IOException if the writer thread failed
+     */
+    public void discard() throws IOException {
+        closeInBackground(true);
+        await();
+    }
+
+    /**
+     * Stops journaling, waits for the pending moves to reach the disk and keeps the save.
+     *
+     * @throws IOException if the writer thread failed
+     */
+    @Override
+    public void close() throws IOException {
+        closeInBackground(false);
+        await();
+    }
+
+    /**
+     * Closes every journal still running and waits for their writers, so no
+     * move is lost when the application exits. Failures are reported on the
+     * error stream.
+     */
+    public static void closeAll() {
+        for (GameJournal journal : RUNNING) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error al guardar la partida: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Waits for the writer thread to finish.
+     *
+     * @throws IOException if the writer thread failed
+     */
+    private void await() throws IOException {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writer thread: drains pending entries and snapshots until the journal is closed.
+     */
+    private void writeLoop() {
+        Path journalPath = directory.resolve(JOURNAL);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        FileChannel channel = null;
+        try {
+            // Esperar al diario anterior del mismo directorio antes de tocar sus archivos
+            GameJournal before = previous;
+            previous = null;
+            if (before != null) {
+                before.writer.join();
+            }
+            Files.createDirectories(directory);
+            channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            while (true) {
+                int count;
+                int mark;
+                byte[] snapshot;
+                synchronized (lock) {
+                    while (pendingCount == 0 && pendingSnapshot == null && !closed) {
+                        lock.wait();
+                    }
+                    if (pendingCount == 0 && pendingSnapshot == null) break;
+                    int[] swap = writing;
+                    writing = pending;
+                    pending = swap;
+                    count = pendingCount;
+                    mark = snapshotMark;
+                    snapshot = pendingSnapshot;
+                    pendingCount = 0;
+                    snapshotMark = 0;
+                    pendingSnapshot = null;
+                }
+                if (snapshot == null) {
+                    writeEntries(channel, buffer, 0, count);
+                } else {
+                    // Las entradas anteriores a la instantánea se escriben primero por si falla su reemplazo
+                    writeEntries(channel, buffer, 0, mark);
+                    writeSnapshot(snapshot);
+                    channel.truncate(0);
+                    writeEntries(channel, buffer, mark, count);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("No se pudo guardar la partida: " + e.getMessage());
+            // Dejar de aceptar jugadas: nadie más vaciará el búfer
+            synchronized (lock) {
+                closed = true;
+                pendingCount = 0;
+                pendingSnapshot = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                if (channel != null) channel.close();
+                if (discarded) delete(directory);
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+            LATEST.remove(key, this);
+            RUNNING.remove(this);
+        }
+    }
+
+    /**
+     * Gets the key of a save directory in {@link #LATEST}.
+     *
+     * @param directory the save directory
+     * @return the absolute, normalized directory
+     */
+    private static Path key(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Appends a range of the entries being written to the journal.
+     */
+    private void writeEntries(FileChannel channel, ByteBuffer buffer, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+            buffer.putInt(writing[i]);
+        }
+        flush(channel, buffer);
+    }
+
+    /**
+     * Writes the buffered entries to the journal.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Replaces the snapshot file atomically with a new one.
+     */
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        Files.write(temporary, snapshot);
+        Files.move(temporary, directory.resolve(SNAPSHOT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Encodes the current board of a game as a snapshot.
+     *
+     * @param engine the game
+     * @return the snapshot file contents
+     */
+    private static byte[] encodeSnapshot(GameEngine engine) {
+        BoardGeometry geometry = engine.getGeometry();
+        int size = geometry.getSize();
+        ByteBuffer buffer = ByteBuffer.allocate(5 + PuzzleRecordCodec.recordBytes(geometry) + geometry.getCells());
+        buffer.putInt(MAGIC).put((byte) size);
+        PuzzleRecordCodec.encode(engine.getPuzzle(), buffer);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                boolean hinted = engine.isLocked(row, col) && !engine.isGiven(row, col);
+                buffer.put((byte) (engine.getValue(row, col) | (hinted ? LOCKED_BIT : 0)));
+            }
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardCore;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+
+/**
+ * Solution counter based on plain backtracking over the board's bitmasks.
+ * Each step branches on the most constrained empty cell and places values
+ * directly in the board, undoing them before returning. The number of search
+ * nodes of every count is reported to {@link SudokuMetrics}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class BacktrackingSolver implements ISolver {
+
+    /**
+     * Search nodes visited by the search in progress.
+     */
+    private long nodes;
+
+    /**
+     * Gets the number of search nodes the last search visited.
+     *
+     * @return the node count, or 0 before the first call
+     */
+    @Override
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Counts the solutions of a board, stopping as soon as {@code limit} are found.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found, never more than {@code limit}
+     */
+    @Override
+    public int countSolutions(BoardCore core, int limit) {
+        nodes = 0;
+        int count = search(core, limit);
+        SudokuMetrics.get().recordSolverCall(nodes);
+        return count;
+    }
+
+    /**
+     * Searches for a single solution in which an empty cell holds any digit other
+     * than the given one, branching first on that cell.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param row the row of the empty cell
+     * @param col the column of the empty cell
+     * @param value the digit the cell must not take
+     * @return true if some solution puts a different digit in the cell
+     */
+    @Override
+    public boolean hasSolutionExcluding(BoardCore core, int row, int col, int value) {
+        nodes = 1;
+        boolean found = false;
+        int candidates = core.candidates(row, col) & ~(1 << value);
+        while (candidates != 0 && !found) {
+            int num = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+
+            core.set(row, col, num);
+            found = search(core, 1) > 0;
+            core.set(row, col, 0);
+        }
+        SudokuMetrics.get().recordSolverCall(nodes);
+        return found;
+    }
+
+    /**
+     * Recursively counts the solutions reachable from the current board.
+     *
+     * @param core the board being solved
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found
+     */
+    private int search(BoardCore core, int limit) {
+        nodes++;
+        int cell = core.mostConstrainedCell();
+        if (cell < 0) {
+            return 1; // Solución encontrada
+        }
+        int size = core.getGeometry().getSize();
+        int row = cell / size;
+        int col = cell % size;
+
+        int count = 0;
+        int candidates = core.candidates(row, col);
+        while (candidates != 0) {
+            int num = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+
+            core.set(row, col, num);
+            count += search(core, limit - count);
+            core.set(row, col, 0);
+
+            // Si alcanzamos el límite, podemos parar
+            if (count >= limit) {
+                return count;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demosudoku.model.solver;
+
+/**
+ * Difficulty levels assigned by the {@link LogicalSolver} from the hardest technique a puzzle needs.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public enum Difficulty {
+
+    /**
+     * Solvable with naked singles only.
+     */
+    EASY,
+
+    /**
+     * Needs hidden singles.
+     */
+    MEDIUM,
+
+    /**
+     * Needs naked or hidden pairs.
+     */
+    HARD,
+
+    /**
+     * Needs pointing or claiming.
+     */
+    EXPERT,
+
+    /**
+     * Not solvable with the techniques the logical solver knows.
+     */
+    BEYOND;
+
+    /**
+     * Maps the hardest technique used to a difficulty.
+     *
+     * @param hardest the hardest technique, or null if no step was needed
+     * @return the matching difficulty
+     */
+    public static Difficulty of(Technique hardest) {
+        if (hardest == null) return EASY;
+        switch (hardest) {
+            case NAKED_SINGLE:
+                return EASY;
+            case HIDDEN_SINGLE:
+                return MEDIUM;
+            case NAKED_PAIR:
+            case HIDDEN_PAIR:
+                return HARD;
+            default:
+                return EXPERT;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardCore;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+
+/**
+ * Solution counter based on Knuth's Algorithm X with Dancing Links.
+ * The board is modelled as an exact-cover problem with four constraint
+ * families (cell, row-digit, column-digit and block-digit). The link
+ * structure is kept in flat int arrays, built once per geometry and reused
+ * across calls. The givens also stay covered between calls: each call compares
+ * the board with the givens still covered, uncovers back to the first one that
+ * changed and covers the new ones. While a puzzle is carved one cell at a time,
+ * a call therefore re-covers about half of the givens instead of all of them.
+ * Each step branches on the constraint column with the fewest remaining rows.
+ * The number of search nodes of every count is reported to {@link SudokuMetrics}.
+ * <p>
+ * Instances keep mutable search state and are not thread-safe.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class DlxSolver implements ISolver {
+
+    /**
+     * Index of the root header node.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * The geometry the link structure was built for, or null before the first call.
+     */
+    private BoardGeometry geometry;
+
+    /**
+     * Search nodes visited by the search in progress.
+     */
+    private long nodes;
+
+    /**
+     * Links to the left neighbour of each node.
+     */
+    private int[] left;
+
+    /**
+     * Links to the right neighbour of each node.
+     */
+    private int[] right;
+
+    /**
+     * Links to the node above each node.
+     */
+    private int[] up;
+
+    /**
+     * Links to the node below each node.
+     */
+    private int[] down;
+
+    /**
+     * Column header of each node.
+     */
+    private int[] column;
+
+    /**
+     * Number of rows currently linked into each column header.
+     */
+    private int[] columnSize;
+
+    /**
+     * First node of each candidate row, indexed by {@code (row * size + col) * size + digit - 1}.
+     */
+    private int[] rowStart;
+
+    /**
+     * First nodes of the covered given rows, in the order they were covered.
+     */
+    private int[] givens;
+
+    /**
+     * Cell of each covered given, parallel to {@link #givens}.
+     */
+    private int[] givenCells;
+
+    /**
+     * Value covered in each cell, or 0 if the cell is not covered.
+     */
+    private int[] coveredValues;
+
+    /**
+     * Number of covered givens.
+     */
+    private int covered;
+
+    /**
+     * Gets the number of search nodes the last search visited.
+     *
+     * @return the node count, or 0 before the first call
+     */
+    @Override
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Counts the solutions of a board, stopping as soon as {@code limit} are found.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found, never more than {@code limit}
+     */
+    @Override
+    public int countSolutions(BoardCore core, int limit) {
+        boolean consistent = coverGivens(core);
+        nodes = 0;
+        int count = consistent ? search(limit) : 0;
+        SudokuMetrics.get().recordSolverCall(nodes);
+        return count;
+    }
+
+    /**
+     * Searches for a single solution in which an empty cell holds any digit other
+     * than the given one, selecting each remaining row of that cell in turn.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param row the row of the empty cell
+     * @param col the column of the empty cell
+     * @param value the digit the cell must not take
+     * @return true if some solution puts a different digit in the cell
+     */
+    @Override
+    public boolean hasSolutionExcluding(BoardCore core, int row, int col, int value) {
+        boolean consistent = coverGivens(core);
+        nodes = 1;
+        boolean found = false;
+        if (consistent) {
+            int size = geometry.getSize();
+            int first = (row * size + col) * size;
+            for (int digit = 1; digit <= size && !found; digit++) {
+                if (digit == value) continue;
+
+                int node = rowStart[first + digit - 1];
+                if (!rowAvailable(node)) continue;
+
+                coverRow(node);
+                found = search(1) > 0;
+                uncoverRow(node);
+            }
+        }
+        SudokuMetrics.get().recordSolverCall(nodes);
+        return found;
+    }
+
+    /**
+     * Brings the covered givens in line with the filled cells of a board,
+     * rebuilding the link structure first if the board has a different geometry
+     * than the previous call. Covers are undone in reverse order, so the givens
+     * are uncovered back to the first one whose cell changed, and then every
+     * filled cell not covered yet is covered.
+     *
+     * @param core the board whose filled cells are the givens
+     * @return false if two givens conflict
+     */
+    private boolean coverGivens(BoardCore core) {
+        if (core.getGeometry() != geometry) {
+            build(core.getGeometry());
+        }
+
+        int size = geometry.getSize();
+        int keep = 0;
+        while (keep < covered) {
+            int cell = givenCells[keep];
+            if (core.get(cell / size, cell % size) != coveredValues[cell]) break;
+            keep++;
+        }
+        while (covered > keep) {
+            covered--;
+            uncoverRow(givens[covered]);
+            coveredValues[givenCells[covered]] = 0;
+        }
+
+        for (int cell = 0; cell < coveredValues.length; cell++) {
+            int value = core.get(cell / size, cell % size);
+            if (value == 0 || coveredValues[cell] == value) continue;
+
+            int node = rowStart[cell * size + value - 1];
+            if (!rowAvailable(node)) {
+                return false; // Dos pistas en conflicto; las ya cubiertas sirven para la próxima llamada
+            }
+            coverRow(node);
+            givens[covered] = node;
+            givenCells[covered] = cell;
+            coveredValues[cell] = value;
+            covered++;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the full exact-cover link structure for a geometry.
+     *
+     * @param geometry the shape of the board
+     */
+    private void build(BoardGeometry geometry) {
+        this.geometry = geometry;
+        int size = geometry.getSize();
+        int cells = geometry.getCells();
+        int columns = 4 * cells;
+        int rows = cells * size;
+        int nodes = 1 + columns + rows * 4;
+
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        columnSize = new int[columns + 1];
+        rowStart = new int[rows];
+        givens = new int[cells];
+        givenCells = new int[cells];
+        coveredValues = new int[cells];
+        covered = 0;
+
+        // Cabeceras enlazadas en círculo a partir de la raíz
+        for (int header = 0; header <= columns; header++) {
+            left[header] = header == 0 ? columns : header - 1;
+            right[header] = header == columns ? 0 : header + 1;
+            up[header] = header;
+            down[header] = header;
+            column[header] = header;
+        }
+
+        int next = columns + 1;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int block = geometry.blockIndex(row, col);
+                for (int digit = 0; digit < size; digit++) {
+                    int first = next;
+                    rowStart[(row * size + col) * size + digit] = first;
+                    int[] headers = {
+                            1 + row * size + col,
+                            1 + cells + row * size + digit,
+                            1 + 2 * cells + col * size + digit,
+                            1 + 3 * cells + block * size + digit
+                    };
+                    for (int k = 0; k < 4; k++) {
+                        int node = next++;
+                        int header = headers[k];
+                        column[node] = header;
+                        up[node] = up[header];
+                        down[node] = header;
+                        down[up[header]] = node;
+                        up[header] = node;
+                        columnSize[header]++;
+                        left[node] = k == 0 ? first + 3 : node - 1;
+                        right[node] = k == 3 ? first : node + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recursively counts exact covers of the remaining columns.
+     *
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found
+     */
+    private int search(int limit) {
+        nodes++;
+        if (right[ROOT] == ROOT) {
+            return 1; // Todas las restricciones cubiertas
+        }
+
+        int chosen = right[ROOT];
+        for (int header = right[chosen]; header != ROOT; header = right[header]) {
+            if (columnSize[header] < columnSize[chosen]) {
+                chosen = header;
+            }
+        }
+        if (columnSize[chosen] == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        cover(chosen);
+        for (int node = down[chosen]; node != chosen && count < limit; node = down[node]) {
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+            count += search(limit - count);
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+        uncover(chosen);
+        return count;
+    }
+
+    /**
+     * Checks that none of the columns of a row has been covered yet.
+     *
+     * @param node the first node of the row
+     * @return true if the row can still be selected
+     */
+    private boolean rowAvailable(int node) {
+        int j = node;
+        do {
+            int header = column[j];
+            if (right[left[header]] != header) return false;
+            j = right[j];
+        } while (j != node);
+        return true;
+    }
+
+    /**
+     * Selects a row by covering all of its columns.
+     *
+     * @param node the first node of the row
+     */
+    private void coverRow(int node) {
+        int j = node;
+        do {
+            cover(column[j]);
+            j = right[j];
+        } while (j != node);
+    }
+
+    /**
+     * Undoes {@link #coverRow(int)}, uncovering the columns in reverse order.
+     *
+     * @param node the first node of the row
+     */
+    private void uncoverRow(int node) {
+        int j = left[node];
+        do {
+            uncover(column[j]);
+            j = left[j];
+        } while (j != left[node]);
+    }
+
+    /**
+     * Removes a column and every row that intersects it from the structure.
+     *
+     * @param header the column header
+     */
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Restores a column removed by {@link #cover(int)}.
+     *
+     * @param header the column header
+     */
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardCore;
+
+/**
+ * Interface defining the contract for Sudoku solution-counting engines.
+ * Implementations are used to check puzzle uniqueness during generation and
+ * must leave the given board exactly as they found it.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public interface ISolver {
+
+    /**
+     * Counts the solutions of a board, stopping as soon as {@code limit} are found.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found, never more than {@code limit}
+     */
+    int countSolutions(BoardCore core, int limit);
+
+    /**
+     * Searches for a single solution in which an empty cell holds any digit other
+     * than the given one. When the board with that cell filled had exactly one
+     * solution, finding none proves the emptied board is still unique, at the cost
+     * of one search that stops at the first hit instead of a count up to two.
+     *
+     * @param core the board to solve; its filled cells are treated as givens
+     * @param row the row of the empty cell
+     * @param col the column of the empty cell
+     * @param value the digit the cell must not take
+     * @return true if some solution puts a different digit in the cell
+     */
+    boolean hasSolutionExcluding(BoardCore core, int row, int col, int value);
+
+    /**
+     * Gets the number of search nodes the last search visited.
+     *
+     * @return the node count, or 0 before the first call
+     */
+    long getNodeCount();
+}
@@ -0,0 +1,442 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.puzzle.Puzzle;
+
+import java.util.Arrays;
+
+/**
+ * Solver that only uses techniques a human would, in increasing order of difficulty:
+ * naked singles, hidden singles, naked pairs, hidden pairs, pointing and claiming.
+ * After every successful step it goes back to the easiest technique, so the trace
+ * records the hardest technique the puzzle really needs. The trace is used to
+ * grade puzzles and to choose hints the way a person would find them.
+ * <p>
+ * All state lives in int arrays that are reused between calls, so grading does
+ * not allocate beyond the returned trace. Instances are not thread-safe.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class LogicalSolver {
+
+    /**
+     * The geometry the buffers were sized for, or null before the first call.
+     */
+    private BoardGeometry geometry;
+
+    /**
+     * The side of the board.
+     */
+    private int size;
+
+    /**
+     * Current cell values, row-major, 0 for empty.
+     */
+    private int[] values;
+
+    /**
+     * Candidate bitmask of every empty cell (0 for filled cells).
+     */
+    private int[] candidates;
+
+    /**
+     * Cells of every row, column and block.
+     */
+    private int[][] units;
+
+    /**
+     * Scratch buffer for hidden pairs: positions of each digit inside a unit.
+     */
+    private int[] positions;
+
+    /**
+     * Number of empty cells left.
+     */
+    private int empty;
+
+    /**
+     * Set when a cell runs out of candidates or the givens repeat a digit.
+     */
+    private boolean contradiction;
+
+    /**
+     * Applications per technique in the current run, indexed by ordinal.
+     */
+    private final int[] uses = new int[Technique.values().length];
+
+    /**
+     * Hardest technique used since the last placement.
+     */
+    private Technique pending;
+
+    /**
+     * Cell of the last placement.
+     */
+    private int placedCell;
+
+    /**
+     * Value of the last placement.
+     */
+    private int placedValue;
+
+    /**
+     * Grades a puzzle from its givens.
+     *
+     * @param puzzle the puzzle to grade
+     * @return the solving trace
+     */
+    public SolveTrace grade(Puzzle puzzle) {
+        BoardGeometry puzzleGeometry = puzzle.getGeometry();
+        int side = puzzleGeometry.getSize();
+        int[] givens = new int[puzzleGeometry.getCells()];
+        for (int cell = 0; cell < givens.length; cell++) {
+            givens[cell] = puzzle.getGiven(cell / side, cell % side);
+        }
+        return grade(puzzleGeometry, givens);
+    }
+
+    /**
+     * Solves a grid as far as the techniques allow and reports what was needed.
+     *
+     * @param geometry the board geometry
+     * @param grid the row-major values, 0 for empty cells; not modified
+     * @return the solving trace
+     */
+    public SolveTrace grade(BoardGeometry geometry, int[] grid) {
+        load(geometry, grid);
+        while (!contradiction && empty > 0 && step()) {
+            // Cada paso aplica la técnica más sencilla que avanza
+        }
+        return new SolveTrace(uses, !contradiction && empty == 0);
+    }
+
+    /**
+     * Finds the next cell a human would fill, using the easiest technique that leads to a placement.
+     * Eliminations from pairs, pointing or claiming are applied internally until a cell can be filled.
+     *
+     * @param geometry the board geometry
+     * @param grid the row-major values, 0 for empty cells; not modified
+     * @return {@code [row, column, value, technique ordinal]}, or null if no placement can be deduced
+     */
+    public int[] nextPlacement(BoardGeometry geometry, int[] grid) {
+        load(geometry, grid);
+        int filled = empty;
+        while (!contradiction && empty == filled && step()) {
+            // Avanzar hasta la primera celda colocada
+        }
+        if (contradiction || empty == filled) {
+            return null;
+        }
+        return new int[]{placedCell / size, placedCell % size, placedValue, pending.ordinal()};
+    }
+
+    /**
+     * Resets the state from a grid, resizing the buffers when the geometry changes.
+     *
+     * @param geometry the board geometry
+     * @param grid the row-major values
+     */
+    private void load(BoardGeometry geometry, int[] grid) {
+        if (geometry != this.geometry) {
+            this.geometry = geometry;
+            this.size = geometry.getSize();
+            this.values = new int[geometry.getCells()];
+            this.candidates = new int[geometry.getCells()];
+            this.units = geometry.getUnits();
+            this.positions = new int[size + 1];
+        }
+        Arrays.fill(uses, 0);
+        Arrays.fill(values, 0);
+        Arrays.fill(candidates, geometry.getAllDigits());
+        contradiction = false;
+        pending = null;
+        empty = values.length;
+
+        for (int cell = 0; cell < grid.length; cell++) {
+            if (grid[cell] == 0) continue;
+            if ((candidates[cell] & (1 << grid[cell])) == 0) {
+                contradiction = true; // Pista repetida en la misma unidad
+                return;
+            }
+            place(cell, grid[cell]);
+        }
+    }
+
+    /**
+     * Applies the easiest technique that makes progress.
+     *
+     * @return true if some technique made progress
+     */
+    private boolean step() {
+        if (nakedSingle()) return record(Technique.NAKED_SINGLE);
+        if (hiddenSingle()) return record(Technique.HIDDEN_SINGLE);
+        if (nakedPair()) return record(Technique.NAKED_PAIR);
+        if (hiddenPair()) return record(Technique.HIDDEN_PAIR);
+        if (pointing()) return record(Technique.POINTING);
+        if (claiming()) return record(Technique.CLAIMING);
+        return false;
+    }
+
+    /**
+     * Counts one application of a technique.
+     *
+     * @param technique the technique that made progress
+     * @return always true
+     */
+    private boolean record(Technique technique) {
+        uses[technique.ordinal()]++;
+        if (pending == null || technique.ordinal() > pending.ordinal()) {
+            pending = technique;
+        }
+        return true;
+    }
+
+    /**
+     * Fills a cell and removes the digit from the candidates of its peers.
+     *
+     * @param cell the row-major cell index
+     * @param value the digit to place
+     */
+    private void place(int cell, int value) {
+        values[cell] = value;
+        candidates[cell] = 0;
+        empty--;
+        placedCell = cell;
+        placedValue = value;
+
+        int bit = 1 << value;
+        for (int peer : geometry.getPeers(cell)) {
+            if (values[peer] == 0 && (candidates[peer] & bit) != 0) {
+                candidates[peer] &= ~bit;
+                if (candidates[peer] == 0) contradiction = true;
+            }
+        }
+    }
+
+    /**
+     * Fills the first cell that has a single candidate.
+     *
+     * @return true if a cell was filled
+     */
+    private boolean nakedSingle() {
+        for (int cell = 0; cell < values.length; cell++) {
+            int mask = candidates[cell];
+            if (values[cell] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills the first cell that is the only place for a digit in one of its units.
+     *
+     * @return true if a cell was filled
+     */
+    private boolean hiddenSingle() {
+        for (int[] unit : units) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                twice |= once & candidates[cell];
+                once |= candidates[cell];
+            }
+            int unique = once & ~twice;
+            if (unique == 0) continue;
+
+            int digit = Integer.numberOfTrailingZeros(unique);
+            for (int cell : unit) {
+                if ((candidates[cell] & (1 << digit)) != 0) {
+                    place(cell, digit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds two cells of a unit with the same two candidates and removes
+     * those digits from the rest of the unit.
+     *
+     * @return true if any candidate was eliminated
+     */
+    private boolean nakedPair() {
+        for (int[] unit : units) {
+            for (int i = 0; i < unit.length; i++) {
+                int pair = candidates[unit[i]];
+                if (Integer.bitCount(pair) != 2) continue;
+                for (int j = i + 1; j < unit.length; j++) {
+                    if (candidates[unit[j]] != pair) continue;
+                    if (eliminate(unit, pair, unit[i], unit[j])) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds two digits that fit only in the same two cells of a unit and
+     * removes every other candidate from those cells.
+     *
+     * @return true if any candidate was eliminated
+     */
+    private boolean hiddenPair() {
+        for (int[] unit : units) {
+            Arrays.fill(positions, 0);
+            for (int k = 0; k < unit.length; k++) {
+                int mask = candidates[unit[k]];
+                while (mask != 0) {
+                    int digit = Integer.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    positions[digit] |= 1 << k;
+                }
+            }
+            for (int d1 = 1; d1 <= size; d1++) {
+                if (Integer.bitCount(positions[d1]) != 2) continue;
+                for (int d2 = d1 + 1; d2 <= size; d2++) {
+                    if (positions[d2] != positions[d1]) continue;
+
+                    int keep = (1 << d1) | (1 << d2);
+                    boolean changed = false;
+                    for (int where = positions[d1]; where != 0; where &= where - 1) {
+                        int cell = unit[Integer.numberOfTrailingZeros(where)];
+                        if ((candidates[cell] & ~keep) != 0) {
+                            candidates[cell] &= keep;
+                            changed = true;
+                        }
+                    }
+                    if (changed) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inside each block, finds digits confined to one row or column and removes
+     * them from that line outside the block.
+     *
+     * @return true if any candidate was eliminated
+     */
+    private boolean pointing() {
+        for (int block = 0; block < size; block++) {
+            int[] cells = units[2 * size + block];
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                int row = -1;
+                int col = -1;
+                boolean sameRow = true;
+                boolean sameCol = true;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) == 0) continue;
+                    int r = cell / size;
+                    int c = cell % size;
+                    if (row < 0) {
+                        row = r;
+                        col = c;
+                    } else {
+                        sameRow &= r == row;
+                        sameCol &= c == col;
+                    }
+                }
+                if (row < 0) continue;
+                if (sameRow && eliminateOutsideBlock(units[row], bit, block)) return true;
+                if (sameCol && eliminateOutsideBlock(units[size + col], bit, block)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inside each row and column, finds digits confined to one block and removes
+     * them from the rest of that block.
+     *
+     * @return true if any candidate was eliminated
+     */
+    private boolean claiming() {
+        for (int line = 0; line < 2 * size; line++) {
+            int[] cells = units[line];
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                int block = -1;
+                boolean sameBlock = true;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) == 0) continue;
+                    int b = geometry.blockIndex(cell / size, cell % size);
+                    if (block < 0) {
+                        block = b;
+                    } else {
+                        sameBlock &= b == block;
+                    }
+                }
+                if (block < 0 || !sameBlock) continue;
+
+                boolean changed = false;
+                for (int cell : units[2 * size + block]) {
+                    if (lineContains(line, cell)) continue;
+                    if ((candidates[cell] & bit) != 0) {
+                        candidates[cell] &= ~bit;
+                        changed = true;
+                    }
+                }
+                if (changed) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes digits from every cell of a unit except two.
+     *
+     * @param unit the cells of the unit
+     * @param digits the digits to remove
+     * @param keepA a cell to leave untouched
+     * @param keepB another cell to leave untouched
+     * @return true if any candidate was removed
+     */
+    private boolean eliminate(int[] unit, int digits, int keepA, int keepB) {
+        boolean changed = false;
+        for (int cell : unit) {
+            if (cell == keepA || cell == keepB) continue;
+            if ((candidates[cell] & digits) != 0) {
+                candidates[cell] &= ~digits;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes a digit from the cells of a line that are outside a block.
+     *
+     * @param line the cells of the row or column
+     * @param bit the digit's bit
+     * @param block the block to skip
+     * @return true if any candidate was removed
+     */
+    private boolean eliminateOutsideBlock(int[] line, int bit, int block) {
+        boolean changed = false;
+        for (int cell : line) {
+            if (geometry.blockIndex(cell / size, cell % size) == block) continue;
+            if ((candidates[cell] & bit) != 0) {
+                candidates[cell] &= ~bit;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether a cell lies on a row or column unit.
+     *
+     * @param line the unit index (rows first, then columns)
+     * @param cell the row-major cell index
+     * @return true if the cell belongs to the line
+     */
+    private boolean lineContains(int line, int cell) {
+        return line < size ? cell / size == line : cell % size == line - size;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demosudoku.model.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Result of grading a puzzle with the {@link LogicalSolver}: which techniques
+ * were needed, how many times each was applied, and the resulting difficulty.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class SolveTrace {
+
+    /**
+     * Number of successful applications of each technique, indexed by ordinal.
+     */
+    private final int[] uses;
+
+    /**
+     * Whether the solver filled every cell.
+     */
+    private final boolean solved;
+
+    /**
+     * Creates a trace.
+     *
+     * @param uses applications per technique, indexed by ordinal; the array is copied
+     * @param solved whether the puzzle was solved completely
+     */
+    SolveTrace(int[] uses, boolean solved) {
+        this.uses = uses.clone();
+        this.solved = solved;
+    }
+
+    /**
+     * Checks whether the solver filled every cell using its techniques.
+     *
+     * @return true if the puzzle was solved logically
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * Gets the number of times a technique made progress.
+     *
+     * @param technique the technique
+     * @return the number of applications
+     */
+    public int getUses(Technique technique) {
+        return uses[technique.ordinal()];
+    }
+
+    /**
+     * Gets the techniques that were needed at least once.
+     *
+     * @return a new set of techniques
+     */
+    public Set<Technique> getTechniques() {
+        EnumSet<Technique> used = EnumSet.noneOf(Technique.class);
+        for (Technique technique : Technique.values()) {
+            if (uses[technique.ordinal()] > 0) used.add(technique);
+        }
+        return used;
+    }
+
+    /**
+     * Gets the hardest technique that was needed.
+     *
+     * @return the hardest technique, or null if the puzzle was already complete
+     */
+    public Technique getHardestTechnique() {
+        Technique[] techniques = Technique.values();
+        for (int i = techniques.length - 1; i >= 0; i--) {
+            if (uses[i] > 0) return techniques[i];
+        }
+        return null;
+    }
+
+    /**
+     * Gets the difficulty of the puzzle.
+     *
+     * @return the difficulty, {@link Difficulty#BEYOND} if the puzzle could not be solved logically
+     */
+    public Difficulty getDifficulty() {
+        return solved ? Difficulty.of(getHardestTechnique()) : Difficulty.BEYOND;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demosudoku.model.solver;
+
+/**
+ * Human solving techniques applied by the {@link LogicalSolver}, in the order it tries them.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public enum Technique {
+
+    /**
+     * A cell has a single candidate left.
+     */
+    NAKED_SINGLE,
+
+    /**
+     * A digit fits in only one cell of a row, column or block.
+     */
+    HIDDEN_SINGLE,
+
+    /**
+     * Two cells of a unit share the same two candidates, which leave the rest of the unit.
+     */
+    NAKED_PAIR,
+
+    /**
+     * Two digits fit only in the same two cells of a unit, which lose every other candidate.
+     */
+    HIDDEN_PAIR,
+
+    /**
+     * Inside a block a digit is confined to one row or column, so it leaves that line outside the block.
+     */
+    POINTING,
+
+    /**
+     * Inside a row or column a digit is confined to one block, so it leaves the rest of the block.
+     */
+    CLAIMING
+}
@@ -0,0 +1,85 @@
+package com.example.demosudoku.server;
+
+import com.example.demosudoku.model.engine.GameEngine;
+
+import java.util.concurrent.Executor;
+
+/**
+ * One player's game on the server: a {@link GameEngine} plus the serial
+ * executor that confines every access to it.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+final class GameSession {
+
+    /**
+     * The session identifier used in URLs.
+     */
+    private final String id;
+
+    /**
+     * The game; only touched from tasks run by {@link #executor}.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Runs this session's requests one at a time.
+     */
+    private final SerialExecutor executor;
+
+    /**
+     * When the session was last used, from {@link System#nanoTime()}.
+     */
+    private volatile long lastAccess = System.nanoTime();
+
+    /**
+     * Creates a session.
+     *
+     * @param id the session identifier
+     * @param engine the game
+     * @param pool the shared pool that runs the session's tasks
+     */
+    GameSession(String id, GameEngine engine, Executor pool) {
+        this.id = id;
+        this.engine = engine;
+        this.executor = new SerialExecutor(pool);
+    }
+
+    /**
+     * Gets the session identifier.
+     *
+     * @return the identifier
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the game. Must only be called from a task submitted with {@link #submit(Runnable)}.
+     *
+     * @return the game engine
+     */
+    GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the time the session was last used.
+     *
+     * @return the last access, from {@link System#nanoTime()}
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Runs a task against this session after every task submitted before it.
+     *
+     * @param task the task
+     */
+    void submit(Runnable task) {
+        lastAccess = System.nanoTime();
+        executor.execute(task);
+    }
+}
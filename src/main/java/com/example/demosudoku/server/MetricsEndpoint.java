@@ -0,0 +1,73 @@
+package com.example.demosudoku.server;
+
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves {@link SudokuMetrics} in the Prometheus text format at {@code GET /metrics}.
+ * The game server, the desktop game and the generator CLI start it on its own
+ * port when asked, bound to the loopback interface only, so the metrics are
+ * never exposed next to the game routes.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public final class MetricsEndpoint {
+
+    /**
+     * Path of the endpoint.
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * Content type of the Prometheus text exposition format.
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private MetricsEndpoint() {
+    }
+
+    /**
+     * Starts a local server that only serves the metrics.
+     *
+     * @param port the port to bind on the loopback interface, 0 for any free port
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static HttpServer start(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext(PATH, MetricsEndpoint::handle);
+        http.start();
+        return http;
+    }
+
+    /**
+     * Answers a metrics request on the HTTP dispatcher; rendering takes microseconds.
+     *
+     * @param exchange the HTTP exchange
+     */
+    private static void handle(HttpExchange exchange) {
+        boolean get = exchange.getRequestMethod().equals("GET");
+        byte[] bytes = (get ? SudokuMetrics.get().toPrometheus() : "Método no permitido\n")
+                .getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(get ? 200 : 405, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // El cliente cerró la conexión; no hay a quién responder
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demosudoku.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executor that runs its tasks one at a time, in submission order, on a shared
+ * pool. Each game session owns one, so everything that touches a session's
+ * engine is confined to a single task at a time without any lock, while
+ * different sessions still run in parallel on the pool's threads.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+final class SerialExecutor implements Executor {
+
+    /**
+     * Tasks waiting to run.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a drain task is queued or running on the pool.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * The shared pool that runs the drain tasks.
+     */
+    private final Executor pool;
+
+    /**
+     * Creates a serial executor on top of a pool.
+     *
+     * @param pool the shared pool
+     */
+    SerialExecutor(Executor pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Queues a task; it runs after every task submitted before it has finished.
+     *
+     * @param task the task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Hands a drain task to the pool unless one is already pending.
+     */
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            pool.execute(this::drain);
+        }
+    }
+
+    /**
+     * Runs the queued tasks, then releases the pool thread. If a task arrives
+     * while releasing, a new drain is scheduled so it is never stranded.
+     */
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error en una tarea de sesión: " + e.getMessage());
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            schedule();
+        }
+    }
+}
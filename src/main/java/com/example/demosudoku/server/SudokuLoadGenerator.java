@@ -0,0 +1,251 @@
+package com.example.demosudoku.server;
+
+import com.example.demosudoku.model.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load generator for {@link SudokuServer}.
+ * A number of simulated players run concurrently; each one creates a session,
+ * plays it to the end by asking for a hint and submitting it as a move, and
+ * deletes it. At the end it prints the completed sessions per second and the
+ * latency percentiles of every request type.
+ * <p>
+ * Usage: {@code SudokuLoadGenerator [--url http://localhost:8080] [--players 16]
+ * [--sessions 1000] [--size 6]}
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class SudokuLoadGenerator {
+
+    /**
+     * Extracts the session id from a board document.
+     */
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    /**
+     * Extracts a hint from a hint document.
+     */
+    private static final Pattern HINT = Pattern.compile("\"row\":(\\d+),\"col\":(\\d+),\"value\":(\\d+)");
+
+    /**
+     * Base URL of the server.
+     */
+    private String url = "http://localhost:8080";
+
+    /**
+     * Number of concurrent players.
+     */
+    private int players = 16;
+
+    /**
+     * Number of sessions to play in total.
+     */
+    private long sessions = 1000;
+
+    /**
+     * Board size of the sessions.
+     */
+    private int size = 6;
+
+    /**
+     * Shared HTTP client.
+     */
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Latency of session creation.
+     */
+    private final LatencyHistogram createLatency = new LatencyHistogram();
+
+    /**
+     * Latency of hint requests.
+     */
+    private final LatencyHistogram hintLatency = new LatencyHistogram();
+
+    /**
+     * Latency of move submissions.
+     */
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+
+    /**
+     * Sessions handed out to players so far.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * Sessions played to completion.
+     */
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Requests that failed or returned an error status.
+     */
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Program entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        SudokuLoadGenerator generator = new SudokuLoadGenerator();
+        try {
+            generator.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: SudokuLoadGenerator [--url URL] [--players N] [--sessions N] [--size 6|9|12|16]");
+            System.exit(2);
+        }
+        try {
+            generator.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the command line options.
+     *
+     * @param args command line arguments
+     * @throws IllegalArgumentException if an option is unknown or has an invalid value
+     */
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + args[i]);
+            }
+            String value = args[i + 1];
+            try {
+                switch (args[i]) {
+                    case "--url":
+                        url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                        break;
+                    case "--players":
+                        players = Integer.parseInt(value);
+                        break;
+                    case "--sessions":
+                        sessions = Long.parseLong(value);
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para " + args[i] + ": " + value);
+            }
+        }
+        if (players < 1 || sessions < 0) {
+            throw new IllegalArgumentException("Los valores deben ser positivos");
+        }
+    }
+
+    /**
+     * Runs the players and prints the results.
+     *
+     * @throws InterruptedException if interrupted while waiting for the players
+     */
+    private void run() throws InterruptedException {
+        long start = System.nanoTime();
+        Thread[] threads = new Thread[players];
+        for (int i = 0; i < players; i++) {
+            threads[i] = new Thread(this::play, "Sudoku-Load-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.err.printf("%d sesiones completadas en %.1f s (%.1f sesiones/s, %d jugadores, %d errores)%n",
+                completed.get(), seconds, completed.get() / seconds, players, errors.get());
+        System.err.println("  crear:  " + createLatency);
+        System.err.println("  pista:  " + hintLatency);
+        System.err.println("  jugada: " + moveLatency);
+    }
+
+    /**
+     * Player loop: plays sessions until the batch is exhausted.
+     */
+    private void play() {
+        while (claimed.getAndIncrement() < sessions) {
+            try {
+                playSession();
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates a session, solves it with hint-and-move round trips and deletes it.
+     *
+     * @throws IOException if a request fails
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    private void playSession() throws IOException, InterruptedException {
+        String board = send("POST", "/sessions?size=" + size, createLatency);
+        Matcher id = ID.matcher(board);
+        if (!id.find()) {
+            throw new IOException("Respuesta sin id de sesión");
+        }
+        String session = "/sessions/" + id.group(1);
+
+        while (true) {
+            Matcher hint = HINT.matcher(send("GET", session + "/hint", hintLatency));
+            if (!hint.find()) break;
+
+            String move = send("POST", session + "/moves?row=" + hint.group(1)
+                    + "&col=" + hint.group(2) + "&value=" + hint.group(3), moveLatency);
+            if (move.contains("\"complete\":true")) {
+                completed.incrementAndGet();
+                break;
+            }
+        }
+        send("DELETE", session, null);
+    }
+
+    /**
+     * Sends a request and records its latency.
+     *
+     * @param method the HTTP method
+     * @param path the path and query
+     * @param latency where to record the latency, or null
+     * @return the response body
+     * @throws IOException if the request fails or the status is not 2xx
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    private String send(String method, String path, LatencyHistogram latency) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (latency != null) {
+            latency.record(System.nanoTime() - start);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Estado " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
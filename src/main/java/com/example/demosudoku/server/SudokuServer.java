@@ -0,0 +1,641 @@
+package com.example.demosudoku.server;
+
+import com.example.demosudoku.model.board.BoardAdapter;
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.board.MoveBatchResult;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.engine.MoveResult;
+import com.example.demosudoku.model.puzzle.PuzzlePool;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local multi-session Sudoku server built on the JDK HTTP server.
+ * <p>
+ * The HTTP dispatcher only parses the request line and queues one task: on the
+ * shared worker pool to create a session, or on the session's own
+ * {@link SerialExecutor} for everything else. Each session's engine is
+ * therefore used by one task at a time with no locks, while different sessions
+ * run in parallel. Responses are small JSON documents written by the task.
+ * <p>
+ * Endpoints (parameters go in the query string or a form-encoded body):
+ * <ul>
+ *     <li>{@code POST /sessions?size=6} creates a session and returns its board; with {@code &seed=S}
+ *     the puzzle is the one generated from that seed, and the board of a seeded session reports it</li>
+ *     <li>{@code GET /sessions/{id}} returns the board and whether it is complete</li>
+ *     <li>{@code DELETE /sessions/{id}} ends a session</li>
+ *     <li>{@code POST /sessions/{id}/moves?row=R&col=C&value=V} applies a move (value 0 clears)</li>
+ *     <li>{@code POST /sessions/{id}/moves?moves=R,C,V;R,C,V...} applies a batch of moves atomically and
+ *     returns, per move, the bitmask of conflicting peers (see {@link MoveBatchResult})</li>
+ *     <li>{@code GET /sessions/{id}/hint} returns a safe suggestion without applying it</li>
+ *     <li>{@code POST /sessions/{id}/hint} applies the next safe suggestion</li>
+ *     <li>{@code POST /sessions/{id}/undo} and {@code POST /sessions/{id}/redo} revert or reapply
+ *     the last move, batch or hint and return the board</li>
+ *     <li>{@code GET /sessions/{id}/complete} tells whether the board is solved</li>
+ * </ul>
+ * Sessions idle for longer than the configured timeout are dropped.
+ * <p>
+ * The game routes listen on every interface, so the model metrics are not
+ * served there. With {@code --metrics-port P} they are served in Prometheus
+ * format at {@code GET /metrics} on a separate port of the loopback interface
+ * (see {@link MetricsEndpoint}).
+ * <p>
+ * With {@code --templates BANK} unseeded sessions of the bank's size get random
+ * transformations of the curated puzzles in that binary bank (see
+ * {@link PuzzlePool#setTemplates(com.example.demosudoku.model.puzzle.PuzzleBankReader)}) instead of freshly generated ones.
+ * <p>
+ * With {@code --bank BANK} unseeded sessions of the bank's size play the puzzles
+ * of that binary bank as they are, read straight from its mapping.
+ * <p>
+ * {@link #main(String[])} turns on {@code TCP_NODELAY} for the JDK HTTP server;
+ * without it every small response waits ~40 ms for the client's delayed ACK.
+ * The JDK reads that setting once per process, so code that embeds the server
+ * should launch the JVM with {@code -Dsun.net.httpserver.nodelay=true}.
+ * <p>
+ * Usage: {@code SudokuServer [--port 8080] [--threads T] [--idle-minutes 30] [--templates BANK] [--bank BANK] [--metrics-port P]}
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+public class SudokuServer {
+
+    /**
+     * Path prefix of every endpoint.
+     */
+    private static final String CONTEXT = "/sessions";
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer http;
+
+    /**
+     * Shared pool that runs session tasks.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Drops idle sessions periodically.
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Live sessions by identifier.
+     */
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Source of session identifiers.
+     */
+    private final AtomicLong nextId = new AtomicLong();
+
+    /**
+     * Time after which an unused session is dropped, in nanoseconds.
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * Creates a server; it does not accept connections until {@link #start()}.
+     *
+     * @param address the address to bind, port 0 for any free port
+     * @param threads the number of worker threads
+     * @param idleMinutes the minutes after which an unused session is dropped
+     * @throws IOException if the address cannot be bound
+     */
+    public SudokuServer(InetSocketAddress address, int threads, int idleMinutes) throws IOException {
+        this.http = HttpServer.create(address, 0);
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("Sudoku-Server-Worker"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("Sudoku-Server-Sweeper"));
+        this.idleTimeoutNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        http.createContext(CONTEXT, this::dispatch);
+    }
+
+    /**
+     * Program entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        int port = 8080;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int idleMinutes = 30;
+        String templates = null;
+        String bank = null;
+        int metricsPort = -1;
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--port":
+                        port = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "--idle-minutes":
+                        idleMinutes = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "--templates":
+                        templates = args[i + 1];
+                        break;
+                    case "--bank":
+                        bank = args[i + 1];
+                        break;
+                    case "--metrics-port":
+                        metricsPort = Integer.parseInt(args[i + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("Falta el valor de " + args[args.length - 1]);
+            }
+            if (threads < 1 || idleMinutes < 1) {
+                throw new IllegalArgumentException("Los valores deben ser positivos");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: SudokuServer [--port 8080] [--threads T] [--idle-minutes 30] [--templates BANCO] [--bank BANCO] [--metrics-port P]");
+            System.exit(2);
+        }
+
+        if (templates != null) {
+            try {
+                PuzzlePool pool = PuzzlePool.loadTemplates(Paths.get(templates));
+                System.err.println("Plantillas cargadas: " + pool.getTemplateCount() + " de "
+                        + pool.getGeometry().getSize() + "x" + pool.getGeometry().getSize());
+            } catch (IOException e) {
+                System.err.println("No se pudieron cargar las plantillas: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        if (bank != null) {
+            try {
+                PuzzlePool pool = PuzzlePool.loadBank(Paths.get(bank));
+                System.err.println("Banco cargado: " + pool.getBank().size() + " puzzles de "
+                        + pool.getGeometry().getSize() + "x" + pool.getGeometry().getSize());
+            } catch (IOException e) {
+                System.err.println("No se pudo abrir el banco de puzzles: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        // Sin TCP_NODELAY cada respuesta pequeña espera ~40 ms por el ACK retardado del cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            SudokuServer server = new SudokuServer(new InetSocketAddress(port), threads, idleMinutes);
+            server.start();
+            System.err.println("Servidor de Sudoku escuchando en el puerto " + server.getPort());
+            if (metricsPort >= 0) {
+                HttpServer metrics = MetricsEndpoint.start(metricsPort);
+                System.err.println("Métricas en http://localhost:" + metrics.getAddress().getPort() + MetricsEndpoint.PATH);
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo iniciar el servidor: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts accepting connections and warms the 6x6 puzzle pool.
+     */
+    public void start() {
+        PuzzlePool.getInstance(BoardGeometry.SIX).start();
+        sweeper.scheduleAtFixedRate(this::dropIdleSessions, 1, 1, TimeUnit.MINUTES);
+        http.start();
+    }
+
+    /**
+     * Stops the server, waiting up to a delay for exchanges in progress.
+     *
+     * @param delaySeconds the maximum seconds to wait
+     */
+    public void stop(int delaySeconds) {
+        http.stop(delaySeconds);
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of live sessions.
+     *
+     * @return the session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Routes a request to the task that will handle it. Runs on the HTTP
+     * dispatcher, so it never touches a game.
+     *
+     * @param exchange the HTTP exchange
+     */
+    private void dispatch(HttpExchange exchange) {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        if (!path.equals(CONTEXT) && !path.startsWith(CONTEXT + "/")) {
+            send(exchange, 404, error("Ruta no encontrada"));
+            return;
+        }
+        String[] parts = path.substring(CONTEXT.length()).split("/");
+        // parts[0] es vacío; parts[1] es el id y parts[2] la acción
+
+        if (parts.length <= 1) {
+            if (method.equals("POST")) {
+                workers.execute(() -> respond(exchange, () -> createSession(exchange)));
+            } else {
+                send(exchange, 405, error("Método no permitido"));
+            }
+            return;
+        }
+
+        GameSession session = sessions.get(parts[1]);
+        if (session == null || parts.length > 3) {
+            send(exchange, 404, error("Sesión no encontrada"));
+            return;
+        }
+        String action = parts.length == 3 ? parts[2] : "";
+        session.submit(() -> respond(exchange, () -> handle(session, method, action, exchange)));
+    }
+
+    /**
+     * Handles a request for an existing session, inside the session's executor.
+     *
+     * @param session the session
+     * @param method the HTTP method
+     * @param action the path segment after the session id, or empty
+     * @param exchange the HTTP exchange
+     * @return the status code and JSON body to send
+     * @throws IOException if the request body cannot be read
+     */
+    private Response handle(GameSession session, String method, String action, HttpExchange exchange) throws IOException {
+        GameEngine engine = session.getEngine();
+        switch (method + " " + action) {
+            case "GET ":
+                return new Response(200, boardJson(session));
+            case "DELETE ":
+                sessions.remove(session.getId());
+                return new Response(200, "{\"deleted\":true}");
+            case "POST moves": {
+                Map<String, String> params = parameters(exchange);
+                if (params.containsKey("moves")) {
+                    return new Response(200, batchJson(engine.applyMoves(movesParam(params)), engine));
+                }
+                MoveResult result = engine.applyMove(
+                        intParam(params, "row"), intParam(params, "col"), intParam(params, "value"));
+                return new Response(200, "{\"result\":\"" + result + "\",\"complete\":" + engine.isComplete() + "}");
+            }
+            case "GET hint":
+                return new Response(200, hintJson(engine.getSuggestionEngine().getSafeSuggestion(), engine));
+            case "POST hint":
+                return new Response(200, hintJson(engine.hint(), engine));
+            case "POST undo":
+                return engine.undo()
+                        ? new Response(200, boardJson(session))
+                        : new Response(409, error("No hay jugadas para deshacer"));
+            case "POST redo":
+                return engine.redo()
+                        ? new Response(200, boardJson(session))
+                        : new Response(409, error("No hay jugadas para rehacer"));
+            case "GET complete":
+                return new Response(200, "{\"complete\":" + engine.isComplete() + "}");
+            default:
+                return new Response(404, error("Ruta no encontrada"));
+        }
+    }
+
+    /**
+     * Creates a session, on the worker pool.
+     *
+     * @param exchange the HTTP exchange
+     * @return the new board
+     * @throws IOException if the request body cannot be read
+     */
+    private Response createSession(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parameters(exchange);
+        BoardGeometry geometry = params.containsKey("size")
+                ? BoardGeometry.ofSize(intParam(params, "size"))
+                : BoardGeometry.SIX;
+        GameEngine engine;
+        if (params.containsKey("seed")) {
+            engine = new GameEngine(new BoardAdapter(geometry, longParam(params, "seed")));
+        } else {
+            PuzzlePool.getInstance(geometry).start();
+            engine = new GameEngine(geometry);
+        }
+
+        String id = Long.toString(nextId.incrementAndGet(), 36);
+        GameSession session = new GameSession(id, engine, workers);
+        sessions.put(id, session);
+        return new Response(201, boardJson(session));
+    }
+
+    /**
+     * Runs a handler and sends its response, mapping bad input to 400.
+     *
+     * @param exchange the HTTP exchange
+     * @param handler the handler
+     */
+    private void respond(HttpExchange exchange, Handler handler) {
+        Response response;
+        try {
+            response = handler.handle();
+        } catch (IllegalArgumentException e) {
+            response = new Response(400, error(e.getMessage()));
+        } catch (IOException | RuntimeException e) {
+            response = new Response(500, error("Error interno: " + e.getMessage()));
+        }
+        send(exchange, response.status, response.body);
+    }
+
+    /**
+     * Writes a JSON response and closes the exchange.
+     *
+     * @param exchange the HTTP exchange
+     * @param status the status code
+     * @param body the JSON body
+     */
+    private static void send(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // El cliente cerró la conexión; no hay a quién responder
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Drops the sessions nobody has used within the idle timeout.
+     */
+    private void dropIdleSessions() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.getLastAccess() > idleTimeoutNanos);
+    }
+
+    /**
+     * Serializes the board of a session.
+     *
+     * @param session the session
+     * @return the JSON document
+     */
+    private static String boardJson(GameSession session) {
+        GameEngine engine = session.getEngine();
+        int size = engine.getGeometry().getSize();
+        StringBuilder json = new StringBuilder(64 + size * size * 3);
+        json.append("{\"id\":\"").append(session.getId()).append('"');
+        OptionalLong seed = engine.getBoard().getSeed();
+        if (seed.isPresent()) {
+            // Como texto: los clientes JavaScript pierden precisión con enteros de 64 bits
+            json.append(",\"seed\":\"").append(seed.getAsLong()).append('"');
+        }
+        json.append(",\"size\":").append(size)
+                .append(",\"cells\":[");
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (row + col > 0) json.append(',');
+                json.append(engine.getValue(row, col));
+            }
+        }
+        return json.append("],\"complete\":").append(engine.isComplete()).append('}').toString();
+    }
+
+    /**
+     * Serializes the outcome of a batch of moves.
+     *
+     * @param batch the batch result
+     * @param engine the game
+     * @return the JSON document
+     */
+    private static String batchJson(MoveBatchResult batch, GameEngine engine) {
+        StringBuilder json = new StringBuilder(48 + batch.size() * 8);
+        json.append("{\"applied\":").append(batch.isApplied()).append(",\"conflicts\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(batch.getConflicts(i));
+        }
+        json.append("],\"rejected\":[");
+        boolean first = true;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isLocked(i) || batch.isOutOfRange(i)) {
+                if (!first) json.append(',');
+                json.append(i);
+                first = false;
+            }
+        }
+        return json.append("],\"complete\":").append(engine.isComplete()).append('}').toString();
+    }
+
+    /**
+     * Serializes a hint.
+     *
+     * @param hint the hint as [row, column, value], or null
+     * @param engine the game
+     * @return the JSON document
+     */
+    private static String hintJson(int[] hint, GameEngine engine) {
+        if (hint == null) {
+            return "{\"hint\":null,\"complete\":" + engine.isComplete() + "}";
+        }
+        return "{\"hint\":{\"row\":" + hint[0] + ",\"col\":" + hint[1] + ",\"value\":" + hint[2]
+                + "},\"complete\":" + engine.isComplete() + "}";
+    }
+
+    /**
+     * Serializes an error message.
+     *
+     * @param message the message
+     * @return the JSON document
+     */
+    private static String error(String message) {
+        String text = message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+        return "{\"error\":\"" + text + "\"}";
+    }
+
+    /**
+     * Reads the parameters from the query string and, for POST, a form-encoded body.
+     *
+     * @param exchange the HTTP exchange
+     * @return the parameters by name
+     * @throws IOException if the body cannot be read
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream body = exchange.getRequestBody()) {
+            parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    /**
+     * Parses {@code name=value&...} pairs into a map.
+     *
+     * @param form the encoded text, or null
+     * @param params the map to fill
+     */
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) return;
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a required integer parameter.
+     *
+     * @param params the parameters
+     * @param name the parameter name
+     * @return its value
+     * @throws IllegalArgumentException if it is missing or not an integer
+     */
+    private static int intParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Falta el parámetro " + name);
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Reads a required 64-bit integer parameter.
+     *
+     * @param params the parameters
+     * @param name the parameter name
+     * @return the value
+     * @throws IllegalArgumentException if the parameter is missing or not a number
+     */
+    private static long longParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Falta el parámetro " + name);
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Reads a batch of moves written as {@code row,col,value} triples separated by {@code ;}.
+     *
+     * @param params the parameters
+     * @return the moves as a flat array of triples
+     * @throws IllegalArgumentException if the batch is malformed
+     */
+    private static int[] movesParam(Map<String, String> params) {
+        String[] triples = params.get("moves").split(";");
+        int[] moves = new int[triples.length * 3];
+        for (int i = 0; i < triples.length; i++) {
+            String[] fields = triples[i].split(",");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Jugada mal formada: " + triples[i]);
+            }
+            try {
+                for (int k = 0; k < 3; k++) {
+                    moves[3 * i + k] = Integer.parseInt(fields[k].trim());
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Jugada mal formada: " + triples[i]);
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Creates a factory of named daemon threads.
+     *
+     * @param name the thread name prefix
+     * @return the factory
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicLong count = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Work that produces a response.
+     */
+    @FunctionalInterface
+    private interface Handler {
+
+        /**
+         * Handles the request.
+         *
+         * @return the response to send
+         * @throws IOException if the request cannot be read
+         */
+        Response handle() throws IOException;
+    }
+
+    /**
+     * Status code and JSON body of a response.
+     */
+    private static final class Response {
+
+        /**
+         * The HTTP status code.
+         */
+        private final int status;
+
+        /**
+         * The JSON body.
+         */
+        private final String body;
+
+        /**
+         * Creates a response.
+         *
+         * @param status the HTTP status code
+         * @param body the JSON body
+         */
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
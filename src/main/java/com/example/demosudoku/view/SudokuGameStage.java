@@ -18,7 +18,8 @@ public class SudokuGameStage extends Stage {
 
     /**
      * Private constructor to enforce the singleton pattern. It loads the FXML view,
-     * sets up the scene, and configures the stage properties.
+     * sets up the scene, and configures the stage properties. Closing the window
+     * stops saving the game in progress.
      *
      * @throws IOException if the FXML file cannot be loaded.
      */
@@ -33,6 +34,7 @@ public class SudokuGameStage extends Stage {
         setScene(scene);
         setTitle("Sudoku");
         setResizable(false);
+        setOnCloseRequest(event -> controller.handleWindowClose());
         getIcons().add(
                 new Image(String.valueOf(getClass().getResource("/com/example/demosudoku/Images/favicon.png")))
         );
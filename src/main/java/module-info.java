@@ -2,9 +2,14 @@ module com.example.demosudoku {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
+    requires jdk.httpserver;
+    requires java.net.http;
+    requires java.management;
+    requires jdk.jfr;
 
 
     opens com.example.demosudoku to javafx.fxml;
     opens com.example.demosudoku.controller to javafx.fxml;
     exports com.example.demosudoku;
+    exports com.example.demosudoku.model.metrics to java.management, jdk.jfr;
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.metrics.SudokuMetrics;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the completion handling of {@link Board}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class BoardTest {
+
+    /**
+     * A 6x6 puzzle.
+     */
+    private static final String PUZZLE =
+            "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312";
+
+    /**
+     * Finishing the board with single writes counts one victory and calls the listener once.
+     */
+    @Test
+    void singleWritesCountVictory() {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        Board board = new Board(puzzle);
+        AtomicInteger completions = new AtomicInteger();
+        board.setOnCompleted(completions::incrementAndGet);
+        long before = SudokuMetrics.get().getVictories();
+
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                if (puzzle.getGiven(row, col) == 0) board.setCell(row, col, puzzle.getSolution(row, col));
+            }
+        }
+        assertEquals(1, completions.get());
+        assertEquals(before + 1, SudokuMetrics.get().getVictories());
+    }
+
+    /**
+     * Finishing the board with a batch counts one victory and calls the listener once.
+     */
+    @Test
+    void batchCountsVictory() {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        Board board = new Board(puzzle);
+        AtomicInteger completions = new AtomicInteger();
+        board.setOnCompleted(completions::incrementAndGet);
+        long before = SudokuMetrics.get().getVictories();
+
+        int[] moves = new int[3 * (36 - puzzle.getClueCount())];
+        int k = 0;
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                if (puzzle.getGiven(row, col) != 0) continue;
+                moves[k++] = row;
+                moves[k++] = col;
+                moves[k++] = puzzle.getSolution(row, col);
+            }
+        }
+        assertTrue(board.applyMoves(moves).isApplied());
+        assertEquals(1, completions.get());
+        assertEquals(before + 1, SudokuMetrics.get().getVictories());
+    }
+}
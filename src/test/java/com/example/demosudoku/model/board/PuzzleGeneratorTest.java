@@ -0,0 +1,48 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.solver.Difficulty;
+import com.example.demosudoku.model.solver.LogicalSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link PuzzleGenerator}: spent budgets and seeded generation.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class PuzzleGeneratorTest {
+
+    /**
+     * A spent budget still carves a complete puzzle instead of returning the solution.
+     */
+    @Test
+    void zeroBudgetStillCarves() {
+        for (BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.SIX, BoardGeometry.NINE}) {
+            PuzzleGenerator generator = new PuzzleGenerator(geometry, 1L);
+            for (int i = 0; i < 10; i++) {
+                GenerationResult result = generator.generate(Difficulty.EASY, 0);
+                Puzzle puzzle = result.getPuzzle();
+                assertTrue(result.getRemoved() > 0);
+                assertTrue(puzzle.getClueCount() < geometry.getCells());
+                assertEquals(geometry.getCells() - result.getRemoved(), puzzle.getClueCount());
+                assertEquals(result.getDifficulty(), new LogicalSolver().grade(puzzle).getDifficulty());
+            }
+        }
+    }
+
+    /**
+     * Generators created with the same seed produce the same puzzles.
+     */
+    @Test
+    void sameSeedSamePuzzles() {
+        PuzzleGenerator first = new PuzzleGenerator(BoardGeometry.NINE, 99L);
+        PuzzleGenerator second = new PuzzleGenerator(BoardGeometry.NINE, 99L);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(first.generate(Difficulty.EASY, 0).getPuzzle(), second.generate(Difficulty.EASY, 0).getPuzzle());
+        }
+    }
+}
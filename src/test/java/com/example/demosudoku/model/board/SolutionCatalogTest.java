@@ -0,0 +1,128 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SolutionCatalog}: every unranked grid is a valid solution,
+ * and ranking and unranking are inverse.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class SolutionCatalogTest {
+
+    /**
+     * Catalog enumerated once for all tests.
+     */
+    private static SolutionCatalog catalog;
+
+    /**
+     * Enumerates the catalog.
+     */
+    @BeforeAll
+    static void enumerate() {
+        catalog = SolutionCatalog.build(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The enumeration finds every normalized grid.
+     */
+    @Test
+    void enumeratesEveryGrid() {
+        assertEquals(SolutionCatalog.NORMALIZED_GRIDS, catalog.size());
+        assertEquals(SolutionCatalog.GRIDS, (long) catalog.size() * SolutionCatalog.RELABELLINGS);
+    }
+
+    /**
+     * Every normalized grid, under a random relabelling, unranks to a valid grid that ranks back to the same rank.
+     */
+    @Test
+    void unrankedGridsAreValidAndRankBack() {
+        BoardCore grid = new BoardCore(BoardGeometry.SIX);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int index = 0; index < catalog.size(); index++) {
+            long rank = (long) index * SolutionCatalog.RELABELLINGS + random.nextInt(SolutionCatalog.RELABELLINGS);
+            catalog.unrank(rank, grid);
+            assertTrue(grid.isComplete(), "rango " + rank);
+            assertEquals(rank, catalog.rank(grid));
+        }
+        for (long rank : new long[]{0, SolutionCatalog.GRIDS - 1}) {
+            catalog.unrank(rank, grid);
+            assertTrue(grid.isComplete());
+            assertEquals(rank, catalog.rank(grid));
+        }
+    }
+
+    /**
+     * A grid that did not come from the catalog unranks back to itself.
+     */
+    @Test
+    void rankThenUnrankGivesSameGrid() {
+        Puzzle puzzle = PuzzleTextFormat.parse(
+                "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312");
+        BoardCore grid = new BoardCore(BoardGeometry.SIX);
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                grid.set(row, col, puzzle.getSolution(row, col));
+            }
+        }
+        BoardCore copy = new BoardCore(BoardGeometry.SIX);
+        catalog.unrank(catalog.rank(grid), copy);
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                assertEquals(grid.get(row, col), copy.get(row, col));
+            }
+        }
+    }
+
+    /**
+     * Incomplete or invalid grids have no rank, and ranks outside the catalog are rejected.
+     */
+    @Test
+    void rejectsInvalidInput() {
+        BoardCore grid = new BoardCore(BoardGeometry.SIX);
+        catalog.unrank(12345, grid);
+        grid.set(5, 5, 0);
+        assertEquals(-1, catalog.rank(grid));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.unrank(SolutionCatalog.GRIDS, grid));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.unrank(-1, grid));
+    }
+
+    /**
+     * A written catalog reads back identical, and a damaged file is rejected.
+     *
+     * @param directory a scratch directory
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    void readsWhatItWrites(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("catalogo.bin");
+        catalog.write(file);
+        SolutionCatalog read = SolutionCatalog.read(file);
+        BoardCore grid = new BoardCore(BoardGeometry.SIX);
+        BoardCore other = new BoardCore(BoardGeometry.SIX);
+        SplittableRandom random = new SplittableRandom(8);
+        for (int i = 0; i < 1000; i++) {
+            long rank = catalog.draw(random, grid);
+            read.unrank(rank, other);
+            assertEquals(rank, read.rank(grid));
+            assertEquals(rank, catalog.rank(other));
+        }
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> SolutionCatalog.read(file));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demosudoku.model.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link MoveHistory}: entry packing, undo/redo and the redo tail.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class MoveHistoryTest {
+
+    /**
+     * Every field of an entry survives packing.
+     */
+    @Test
+    void packsEntries() {
+        long entry = MoveHistory.pack(255, 9, 16, MoveHistory.HINT | MoveHistory.CONTINUES);
+        assertEquals(255, MoveHistory.cell(entry));
+        assertEquals(9, MoveHistory.oldValue(entry));
+        assertEquals(16, MoveHistory.newValue(entry));
+        assertTrue((entry & MoveHistory.HINT) != 0);
+        assertTrue((entry & MoveHistory.CONTINUES) != 0);
+        assertEquals(0, MoveHistory.pack(3, 0, 5, 0) & (MoveHistory.HINT | MoveHistory.CONTINUES));
+    }
+
+    /**
+     * Undo walks back over the entries and redo walks forward again, in order.
+     */
+    @Test
+    void undoesAndRedoes() {
+        MoveHistory history = new MoveHistory();
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+
+        long first = MoveHistory.pack(0, 0, 1, 0);
+        long second = MoveHistory.pack(1, 0, 2, 0);
+        history.record(first);
+        history.record(second);
+
+        assertTrue(history.canUndo());
+        assertEquals(second, history.undo());
+        assertEquals(first, history.undo());
+        assertFalse(history.canUndo());
+        assertTrue(history.canRedo());
+
+        assertEquals(first, history.redo());
+        assertEquals(second, history.redo());
+        assertFalse(history.canRedo());
+    }
+
+    /**
+     * Recording after an undo drops what could have been redone.
+     */
+    @Test
+    void recordDropsRedoTail() {
+        MoveHistory history = new MoveHistory();
+        history.record(MoveHistory.pack(0, 0, 1, 0));
+        history.record(MoveHistory.pack(1, 0, 2, 0));
+        history.undo();
+
+        long replacement = MoveHistory.pack(2, 0, 3, 0);
+        history.record(replacement);
+        assertFalse(history.canRedo());
+        assertEquals(replacement, history.undo());
+        assertEquals(0, MoveHistory.cell(history.undo()));
+    }
+
+    /**
+     * Entries of a batch are recognised as one move when redoing.
+     */
+    @Test
+    void redoContinuesBatch() {
+        MoveHistory history = new MoveHistory();
+        history.record(MoveHistory.pack(0, 0, 1, 0));
+        history.record(MoveHistory.pack(1, 0, 2, MoveHistory.CONTINUES));
+        history.undo();
+        history.undo();
+
+        history.redo();
+        assertTrue(history.redoContinues());
+        history.redo();
+        assertFalse(history.redoContinues());
+    }
+
+    /**
+     * The history grows past its initial capacity and clears completely.
+     */
+    @Test
+    void growsAndClears() {
+        MoveHistory history = new MoveHistory();
+        for (int i = 0; i < 100; i++) {
+            history.record(MoveHistory.pack(i, 0, 1 + i % 9, 0));
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, MoveHistory.cell(history.undo()));
+        }
+        history.clear();
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+    }
+}
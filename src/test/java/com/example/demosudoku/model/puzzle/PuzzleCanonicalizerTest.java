@@ -0,0 +1,60 @@
+package com.example.demosudoku.model.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests for {@link PuzzleCanonicalizer}: isomorphic puzzles share a canonical
+ * form and hash, different puzzles do not.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class PuzzleCanonicalizerTest {
+
+    /**
+     * A 6x6 puzzle.
+     */
+    private static final String FIRST =
+            "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312";
+
+    /**
+     * Another 6x6 puzzle, not isomorphic to the first.
+     */
+    private static final String SECOND =
+            "6:.2145....1..2.4......5.....6...352..:321456546123254361163542412635635214";
+
+    /**
+     * Transformed copies hash the same as their source.
+     */
+    @Test
+    void transformedPuzzleHashesLikeSource() {
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        SplittableRandom random = new SplittableRandom(42);
+        for (String line : new String[]{FIRST, SECOND}) {
+            Puzzle source = PuzzleTextFormat.parse(line);
+            byte[] form = canonicalizer.canonicalForm(source);
+            long hash = canonicalizer.canonicalHash(source);
+            for (int i = 0; i < 50; i++) {
+                Puzzle copy = PuzzleTransformer.transform(source, random);
+                assertArrayEquals(form, canonicalizer.canonicalForm(copy));
+                assertEquals(hash, canonicalizer.canonicalHash(copy));
+            }
+        }
+    }
+
+    /**
+     * Different puzzles get different hashes.
+     */
+    @Test
+    void differentPuzzlesHashDifferently() {
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        assertNotEquals(canonicalizer.canonicalHash(PuzzleTextFormat.parse(FIRST)),
+                canonicalizer.canonicalHash(PuzzleTextFormat.parse(SECOND)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demosudoku.model.puzzle;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round-trip tests for {@link PuzzleRecordCodec}.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class PuzzleRecordCodecTest {
+
+    /**
+     * A 6x6 puzzle.
+     */
+    private static final String SIX =
+            "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312";
+
+    /**
+     * A 9x9 puzzle.
+     */
+    private static final String NINE = "9:"
+            + "....43.....57.6.31..6...7...4..9.5.....1...988...5.3..2.....6.3..4..9......6....7:"
+            + "721943865985726431436815729142398576357164298869257314298471653674539182513682947";
+
+    /**
+     * Records are as small as the bit layout promises.
+     */
+    @Test
+    void recordSizes() {
+        assertEquals(3, PuzzleRecordCodec.bitsPerValue(BoardGeometry.SIX));
+        assertEquals(4, PuzzleRecordCodec.bitsPerValue(BoardGeometry.NINE));
+        assertEquals(18, PuzzleRecordCodec.recordBytes(BoardGeometry.SIX));
+        assertEquals(51, PuzzleRecordCodec.recordBytes(BoardGeometry.NINE));
+    }
+
+    /**
+     * A decoded record equals the encoded puzzle, for both sizes.
+     */
+    @Test
+    void roundTrip() {
+        for (String line : new String[]{SIX, NINE}) {
+            Puzzle puzzle = PuzzleTextFormat.parse(line);
+            ByteBuffer buffer = ByteBuffer.allocate(PuzzleRecordCodec.recordBytes(puzzle.getGeometry()));
+            PuzzleRecordCodec.encode(puzzle, buffer);
+            assertEquals(buffer.capacity(), buffer.position());
+
+            Puzzle decoded = PuzzleRecordCodec.decode(puzzle.getGeometry(), buffer, 0);
+            assertEquals(puzzle, decoded);
+            assertEquals(line, PuzzleTextFormat.format(decoded));
+        }
+    }
+
+    /**
+     * Consecutive records are decoded independently at their offsets.
+     */
+    @Test
+    void roundTripAtOffsets() {
+        Puzzle first = PuzzleTextFormat.parse(SIX);
+        Puzzle second = PuzzleTransformer.transform(first, new java.util.SplittableRandom(1));
+        int bytes = PuzzleRecordCodec.recordBytes(BoardGeometry.SIX);
+        ByteBuffer buffer = ByteBuffer.allocate(3 + 2 * bytes);
+        buffer.position(3);
+        PuzzleRecordCodec.encode(first, buffer);
+        PuzzleRecordCodec.encode(second, buffer);
+
+        assertEquals(first, PuzzleRecordCodec.decode(BoardGeometry.SIX, buffer, 3));
+        assertEquals(second, PuzzleRecordCodec.decode(BoardGeometry.SIX, buffer, 3 + bytes));
+        for (int cell = 0; cell < BoardGeometry.SIX.getCells(); cell++) {
+            int row = cell / 6;
+            int col = cell % 6;
+            assertEquals(second.getSolution(row, col),
+                    PuzzleRecordCodec.solutionValue(BoardGeometry.SIX, buffer, 3 + bytes, cell));
+            assertEquals(second.getGiven(row, col) != 0,
+                    PuzzleRecordCodec.isGiven(BoardGeometry.SIX, buffer, 3 + bytes, cell));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demosudoku.model.save;
+
+import com.example.demosudoku.model.board.BoardAdapter;
+import com.example.demosudoku.model.engine.GameEngine;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for {@link GameJournal}: a game saved through snapshots and
+ * journal entries is resumed exactly as it was left.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class GameJournalTest {
+
+    /**
+     * A 6x6 puzzle.
+     */
+    private static final String PUZZLE =
+            "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312";
+
+    /**
+     * Creates a game on the test puzzle.
+     *
+     * @return the game
+     */
+    private static GameEngine newGame() {
+        return new GameEngine(new BoardAdapter(PuzzleTextFormat.parse(PUZZLE)));
+    }
+
+    /**
+     * Checks that two games have the same values and locked cells.
+     *
+     * @param expected the original game
+     * @param actual the resumed game
+     */
+    private static void assertSameGame(GameEngine expected, GameEngine actual) {
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                assertEquals(expected.getValue(row, col), actual.getValue(row, col), row + "," + col);
+                assertEquals(expected.isLocked(row, col), actual.isLocked(row, col), row + "," + col);
+            }
+        }
+    }
+
+    /**
+     * Moves made before and after several snapshots are all restored, and hints stay locked.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be written or read
+     */
+    @Test
+    void resumesAcrossSnapshots(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, directory);
+
+        // Más jugadas que el intervalo, para pasar por instantáneas y truncados del diario
+        for (int i = 0; i < 2 * GameJournal.SNAPSHOT_INTERVAL + 7; i++) {
+            game.applyMove(0, 0, i % 2 == 0 ? puzzle.getSolution(0, 0) : 0);
+        }
+        game.applyMove(0, 1, puzzle.getSolution(0, 1));
+        game.applyHint(0, 2, puzzle.getSolution(0, 2));
+        journal.close();
+
+        GameEngine resumed = GameJournal.resume(directory);
+        assertNotNull(resumed);
+        assertSameGame(game, resumed);
+        assertTrue(resumed.isLocked(0, 2));
+        assertFalse(resumed.isLocked(0, 1));
+    }
+
+    /**
+     * A hint covered by a snapshot comes back locked but not as a given, and the
+     * snapshot keeps the givens of the original puzzle, also after a second resume.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be written or read
+     */
+    @Test
+    void snapshotKeepsHintsApartFromGivens(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, directory);
+        game.applyHint(0, 2, puzzle.getSolution(0, 2));
+        for (int i = 0; i < GameJournal.SNAPSHOT_INTERVAL; i++) {
+            game.applyMove(0, 0, i % 2 == 0 ? puzzle.getSolution(0, 0) : 0);
+        }
+        journal.close();
+
+        GameEngine resumed = GameJournal.resume(directory);
+        assertNotNull(resumed);
+        assertSameGame(game, resumed);
+        assertEquals(puzzle, resumed.getPuzzle());
+        assertTrue(resumed.isLocked(0, 2));
+        assertFalse(resumed.isGiven(0, 2));
+
+        // La partida reanudada escribe su propia instantánea al empezar
+        GameJournal.start(resumed, directory).close();
+        GameEngine again = GameJournal.resume(directory);
+        assertSameGame(game, again);
+        assertEquals(puzzle, again.getPuzzle());
+        assertFalse(again.isGiven(0, 2));
+    }
+
+    /**
+     * Closing in the background still saves every move once the writer is awaited.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be read
+     */
+    @Test
+    void closeInBackgroundKeepsMoves(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, directory);
+        game.applyMove(0, 0, puzzle.getSolution(0, 0));
+        journal.closeInBackground(false);
+        game.applyMove(0, 1, puzzle.getSolution(0, 1));
+        GameJournal.closeAll();
+
+        GameEngine resumed = GameJournal.resume(directory);
+        assertEquals(puzzle.getSolution(0, 0), resumed.getValue(0, 0));
+        assertEquals(0, resumed.getValue(0, 1));
+    }
+
+    /**
+     * Discarding deletes the save.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be written
+     */
+    @Test
+    void discardDeletesSave(@TempDir Path directory) throws IOException {
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, directory);
+        game.applyMove(0, 0, 1);
+        journal.discard();
+        assertNull(GameJournal.resume(directory));
+    }
+
+    /**
+     * A game started right after the previous one was discarded in the background
+     * keeps its save: the old writer's truncates and delete happen before the new
+     * writer touches the directory.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be written or read
+     */
+    @Test
+    void startAfterCloseInBackgroundKeepsNewSave(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        GameEngine won = newGame();
+        GameJournal old = GameJournal.start(won, directory);
+        // Dejar trabajo pendiente al escritor anterior: instantáneas, truncados y el borrado final
+        for (int i = 0; i < 3 * GameJournal.SNAPSHOT_INTERVAL; i++) {
+            won.applyMove(0, 0, i % 2 == 0 ? puzzle.getSolution(0, 0) : 0);
+        }
+        old.closeInBackground(true);
+
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, directory);
+        game.applyMove(0, 1, puzzle.getSolution(0, 1));
+        journal.close();
+
+        GameEngine resumed = GameJournal.resume(directory);
+        assertNotNull(resumed);
+        assertSameGame(game, resumed);
+    }
+
+    /**
+     * Resuming a directory whose journal is still running reads every move it was given.
+     *
+     * @param directory the save directory
+     * @throws IOException if the save cannot be written or read
+     */
+    @Test
+    void resumeWaitsForRunningJournal(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = PuzzleTextFormat.parse(PUZZLE);
+        GameEngine game = newGame();
+        GameJournal.start(game, directory);
+        for (int i = 0; i < GameJournal.SNAPSHOT_INTERVAL + 3; i++) {
+            game.applyMove(0, 0, i % 2 == 0 ? puzzle.getSolution(0, 0) : 0);
+        }
+        game.applyMove(0, 1, puzzle.getSolution(0, 1));
+
+        GameEngine resumed = GameJournal.resume(directory);
+        assertNotNull(resumed);
+        assertSameGame(game, resumed);
+    }
+
+    /**
+     * A writer that cannot write reports the failure on close and stops accepting moves.
+     *
+     * @param directory a scratch directory
+     * @throws IOException if the scratch file cannot be created
+     */
+    @Test
+    void failedWriterStopsJournaling(@TempDir Path directory) throws IOException {
+        Path notADirectory = Files.createFile(directory.resolve("archivo"));
+        GameEngine game = newGame();
+        GameJournal journal = GameJournal.start(game, notADirectory);
+        for (int i = 0; i < 1000; i++) {
+            game.applyMove(0, 0, i % 2);
+        }
+        assertThrows(IOException.class, journal::close);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardGeometry;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link LogicalSolver}: every technique on a puzzle that needs it,
+ * hint placements and grading.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class LogicalSolverTest {
+
+    /**
+     * 6x6 puzzle solved with naked singles only.
+     */
+    static final String NAKED_SINGLES =
+            "6:...5.3..4..1..21..5..4..23..5.4.....:126543354261642135513426231654465312";
+
+    /**
+     * 6x6 puzzle that needs a hidden single.
+     */
+    static final String HIDDEN_SINGLES =
+            "6:.2145....1..2.4......5.....6...352..:321456546123254361163542412635635214";
+
+    /**
+     * 9x9 puzzle that needs a naked pair.
+     */
+    static final String NAKED_PAIRS = "9:"
+            + "...5846..9.51.........7........125............49..8.215.37...........8..7......62:"
+            + "321584697975163284468279153837912546152647938649358721583726419296431875714895362";
+
+    /**
+     * 9x9 puzzle that needs a hidden pair.
+     */
+    static final String HIDDEN_PAIRS = "9:"
+            + "....2.5.1..136....7......8.5..1..8.....7.4....13..245.854.....6..........6.....9.:"
+            + "496827531281365974735491682547136829928754163613982457854279316379618245162543798";
+
+    /**
+     * 9x9 puzzle that needs a pointing elimination.
+     */
+    static final String POINTING_PAIRS = "9:"
+            + "6.......8....1.7..58.2...9.7........3265..4......38....5...6.........3412.....6..:"
+            + "671459238942813756583267194798642513326591487415738962154376829867925341239184675";
+
+    /**
+     * 9x9 puzzle that needs a claiming elimination.
+     */
+    static final String CLAIMING_PAIRS = "9:"
+            + "....43.....57.6.31..6...7...4..9.5.....1...988...5.3..2.....6.3..4..9......6....7:"
+            + "721943865985726431436815729142398576357164298869257314298471653674539182513682947";
+
+    /**
+     * Grades a puzzle and checks that it is solved and that the given technique is the hardest one used.
+     *
+     * @param line the puzzle in text format
+     * @param technique the expected hardest technique
+     * @return the trace
+     */
+    private static SolveTrace assertHardest(String line, Technique technique) {
+        SolveTrace trace = new LogicalSolver().grade(PuzzleTextFormat.parse(line));
+        assertTrue(trace.isSolved());
+        assertEquals(technique, trace.getHardestTechnique());
+        assertTrue(trace.getUses(technique) > 0);
+        return trace;
+    }
+
+    /**
+     * A puzzle of naked singles uses no other technique.
+     */
+    @Test
+    void solvesNakedSingles() {
+        SolveTrace trace = assertHardest(NAKED_SINGLES, Technique.NAKED_SINGLE);
+        assertEquals(1, trace.getTechniques().size());
+    }
+
+    /**
+     * Hidden singles are found when no cell is down to one candidate.
+     */
+    @Test
+    void solvesHiddenSingles() {
+        assertHardest(HIDDEN_SINGLES, Technique.HIDDEN_SINGLE);
+    }
+
+    /**
+     * Naked pairs unlock a puzzle that singles alone cannot finish.
+     */
+    @Test
+    void solvesNakedPairs() {
+        assertHardest(NAKED_PAIRS, Technique.NAKED_PAIR);
+    }
+
+    /**
+     * Hidden pairs unlock a puzzle that singles and naked pairs cannot finish.
+     */
+    @Test
+    void solvesHiddenPairs() {
+        assertHardest(HIDDEN_PAIRS, Technique.HIDDEN_PAIR);
+    }
+
+    /**
+     * Pointing eliminations unlock a puzzle that pairs cannot finish.
+     */
+    @Test
+    void solvesPointing() {
+        assertHardest(POINTING_PAIRS, Technique.POINTING);
+    }
+
+    /**
+     * Claiming eliminations unlock a puzzle that pointing cannot finish.
+     */
+    @Test
+    void solvesClaiming() {
+        assertHardest(CLAIMING_PAIRS, Technique.CLAIMING);
+    }
+
+    /**
+     * A puzzle of naked singles is graded EASY.
+     */
+    @Test
+    void gradesEasyPuzzle() {
+        assertEquals(Difficulty.EASY, new LogicalSolver().grade(PuzzleTextFormat.parse(NAKED_SINGLES)).getDifficulty());
+    }
+
+    /**
+     * Puzzles that need pointing or claiming are graded EXPERT.
+     */
+    @Test
+    void gradesExpertPuzzles() {
+        LogicalSolver solver = new LogicalSolver();
+        assertEquals(Difficulty.EXPERT, solver.grade(PuzzleTextFormat.parse(POINTING_PAIRS)).getDifficulty());
+        assertEquals(Difficulty.EXPERT, solver.grade(PuzzleTextFormat.parse(CLAIMING_PAIRS)).getDifficulty());
+    }
+
+    /**
+     * One solver instance grades puzzles of different geometries in a row.
+     */
+    @Test
+    void reusesBuffersAcrossGeometries() {
+        LogicalSolver solver = new LogicalSolver();
+        assertEquals(Difficulty.HARD, solver.grade(PuzzleTextFormat.parse(NAKED_PAIRS)).getDifficulty());
+        assertEquals(Difficulty.MEDIUM, solver.grade(PuzzleTextFormat.parse(HIDDEN_SINGLES)).getDifficulty());
+        assertEquals(Difficulty.HARD, solver.grade(PuzzleTextFormat.parse(HIDDEN_PAIRS)).getDifficulty());
+    }
+
+    /**
+     * The next placement is a naked single with the solution's value, and the grid is left untouched.
+     */
+    @Test
+    void nextPlacementFollowsSolution() {
+        Puzzle puzzle = PuzzleTextFormat.parse(NAKED_SINGLES);
+        int[] grid = givens(puzzle);
+        int[] before = grid.clone();
+
+        int[] placement = new LogicalSolver().nextPlacement(puzzle.getGeometry(), grid);
+        assertNotNull(placement);
+        assertEquals(0, grid[placement[0] * 6 + placement[1]]);
+        assertEquals(puzzle.getSolution(placement[0], placement[1]), placement[2]);
+        assertEquals(Technique.NAKED_SINGLE.ordinal(), placement[3]);
+        assertArrayEquals(before, grid);
+    }
+
+    /**
+     * Repeated givens are reported as unsolvable instead of being placed.
+     */
+    @Test
+    void rejectsRepeatedGivens() {
+        int[] grid = new int[BoardGeometry.SIX.getCells()];
+        grid[0] = 1;
+        grid[1] = 1;
+        LogicalSolver solver = new LogicalSolver();
+        assertFalse(solver.grade(BoardGeometry.SIX, grid).isSolved());
+        assertNull(solver.nextPlacement(BoardGeometry.SIX, grid));
+    }
+
+    /**
+     * Copies the givens of a puzzle into a row-major grid.
+     *
+     * @param puzzle the puzzle
+     * @return the givens, 0 for empty cells
+     */
+    static int[] givens(Puzzle puzzle) {
+        int size = puzzle.getGeometry().getSize();
+        int[] grid = new int[puzzle.getGeometry().getCells()];
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = puzzle.getGiven(cell / size, cell % size);
+        }
+        return grid;
+    }
+}
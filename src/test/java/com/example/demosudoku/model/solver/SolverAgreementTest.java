@@ -0,0 +1,190 @@
+package com.example.demosudoku.model.solver;
+
+import com.example.demosudoku.model.board.BoardCore;
+import com.example.demosudoku.model.puzzle.Puzzle;
+import com.example.demosudoku.model.puzzle.PuzzleTextFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link BacktrackingSolver} and {@link DlxSolver} agree on solution
+ * counts and on the uniqueness question, on unique puzzles and on puzzles with
+ * givens removed.
+ *
+ * @author Juan Marmolejo  William May
+ * @version 1.0
+ */
+class SolverAgreementTest {
+
+    /**
+     * Unique puzzles of both sizes, one per technique.
+     */
+    private static final String[] PUZZLES = {
+            LogicalSolverTest.NAKED_SINGLES,
+            LogicalSolverTest.HIDDEN_SINGLES,
+            LogicalSolverTest.NAKED_PAIRS,
+            LogicalSolverTest.HIDDEN_PAIRS,
+            LogicalSolverTest.POINTING_PAIRS,
+            LogicalSolverTest.CLAIMING_PAIRS
+    };
+
+    /**
+     * Upper bound passed to the solution counters.
+     */
+    private static final int LIMIT = 200;
+
+    /**
+     * Loads the givens of a puzzle, skipping every {@code stride}-th one.
+     *
+     * @param puzzle the puzzle
+     * @param stride the spacing of the givens to drop, or 0 to keep them all
+     * @return a board with the kept givens
+     */
+    private static BoardCore load(Puzzle puzzle, int stride) {
+        int size = puzzle.getGeometry().getSize();
+        BoardCore core = new BoardCore(puzzle.getGeometry());
+        int seen = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = puzzle.getGiven(row, col);
+                if (value == 0) continue;
+                if (stride > 0 && seen++ % stride == 0) continue;
+                core.set(row, col, value);
+            }
+        }
+        return core;
+    }
+
+    /**
+     * Both solvers find exactly one solution to every puzzle.
+     */
+    @Test
+    void countUniquePuzzles() {
+        for (String line : PUZZLES) {
+            BoardCore core = load(PuzzleTextFormat.parse(line), 0);
+            assertEquals(1, new BacktrackingSolver().countSolutions(core, LIMIT), line);
+            assertEquals(1, new DlxSolver().countSolutions(core, LIMIT), line);
+        }
+    }
+
+    /**
+     * Both solvers count the same solutions once givens are removed.
+     */
+    @Test
+    void countAmbiguousPuzzles() {
+        BacktrackingSolver backtracking = new BacktrackingSolver();
+        DlxSolver dlx = new DlxSolver();
+        boolean ambiguous = false;
+        for (String line : PUZZLES) {
+            for (int stride = 2; stride <= 6; stride++) {
+                BoardCore core = load(PuzzleTextFormat.parse(line), stride);
+                int expected = backtracking.countSolutions(core, LIMIT);
+                assertEquals(expected, dlx.countSolutions(core, LIMIT), line + " / " + stride);
+                ambiguous |= expected > 1;
+            }
+        }
+        assertTrue(ambiguous);
+    }
+
+    /**
+     * Both solvers answer the uniqueness question the same way for every empty cell.
+     */
+    @Test
+    void agreeOnExcludedValues() {
+        BacktrackingSolver backtracking = new BacktrackingSolver();
+        DlxSolver dlx = new DlxSolver();
+        for (String line : PUZZLES) {
+            Puzzle puzzle = PuzzleTextFormat.parse(line);
+            int size = puzzle.getGeometry().getSize();
+            for (int stride : new int[]{0, 4}) {
+                BoardCore core = load(puzzle, stride);
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        if (core.get(row, col) != 0) continue;
+                        int value = puzzle.getSolution(row, col);
+                        assertEquals(backtracking.hasSolutionExcluding(core, row, col, value),
+                                dlx.hasSolutionExcluding(core, row, col, value),
+                                line + " @ " + row + "," + col);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One DLX instance keeps agreeing while cells are removed and restored one at
+     * a time, as generation does, with its givens covered between calls.
+     */
+    @Test
+    void agreeWhileCarving() {
+        BacktrackingSolver backtracking = new BacktrackingSolver();
+        DlxSolver dlx = new DlxSolver();
+        SplittableRandom random = new SplittableRandom(5);
+        for (String line : PUZZLES) {
+            Puzzle puzzle = PuzzleTextFormat.parse(line);
+            int size = puzzle.getGeometry().getSize();
+            BoardCore core = new BoardCore(puzzle.getGeometry());
+            int[] order = new int[puzzle.getGeometry().getCells()];
+            for (int cell = 0; cell < order.length; cell++) {
+                order[cell] = cell;
+                core.set(cell / size, cell % size, puzzle.getSolution(cell / size, cell % size));
+            }
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+
+            for (int cell : order) {
+                int row = cell / size;
+                int col = cell % size;
+                int value = core.get(row, col);
+                core.set(row, col, 0);
+                boolean ambiguous = backtracking.hasSolutionExcluding(core, row, col, value);
+                assertEquals(ambiguous, dlx.hasSolutionExcluding(core, row, col, value), line);
+                assertEquals(backtracking.countSolutions(core, 2), dlx.countSolutions(core, 2), line);
+                if (ambiguous) core.set(row, col, value);
+            }
+        }
+    }
+
+    /**
+     * Conflicting givens have no solution, and do not disturb the next call.
+     */
+    @Test
+    void recoverFromConflictingGivens() {
+        Puzzle puzzle = PuzzleTextFormat.parse(LogicalSolverTest.NAKED_SINGLES);
+        BoardCore core = load(puzzle, 0);
+        DlxSolver dlx = new DlxSolver();
+        assertEquals(1, dlx.countSolutions(core, LIMIT));
+
+        // La fila 0 es "...5.3": un 5 en (0,0) repite el de (0,3)
+        core.set(0, 0, 5);
+        assertEquals(0, dlx.countSolutions(core, LIMIT));
+        assertFalse(dlx.hasSolutionExcluding(core, 0, 1, 2));
+
+        core.set(0, 0, 0);
+        assertEquals(1, dlx.countSolutions(core, LIMIT));
+    }
+
+    /**
+     * Neither solver leaves the board modified.
+     */
+    @Test
+    void leaveBoardUntouched() {
+        Puzzle puzzle = PuzzleTextFormat.parse(LogicalSolverTest.HIDDEN_PAIRS);
+        BoardCore core = load(puzzle, 0);
+        int filled = core.getFilledCount();
+        new BacktrackingSolver().countSolutions(core, LIMIT);
+        new DlxSolver().countSolutions(core, LIMIT);
+        new DlxSolver().hasSolutionExcluding(core, 0, 0, puzzle.getSolution(0, 0));
+        assertEquals(filled, core.getFilledCount());
+        assertEquals(0, core.get(0, 0));
+    }
+}